@@ -0,0 +1,115 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Measures the latency and throughput of single-sample scoring under concurrent load.
+ * <p>
+ *     Three transports are compared on the same model and samples: calling {@code Model.predict} directly, submitting
+ *     to a {@link BatchScorer} in process, and posting to a {@link ScoringServer} over loopback HTTP. Each client thread
+ *     sends its requests one after another and records the latency of each, and the p50, p99 and throughput over all
+ *     clients are printed. Run it from the shaded jar:
+ * </p>
+ * <pre>
+ * java --add-modules jdk.incubator.vector -cp benchmarks/target/benchmarks.jar LoadTest [clients] [requests] [batch] [delayMicros]
+ * </pre>
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+public class LoadTest {
+
+    private static final int FEATURES = 50;
+    private static final int BASIS = 3;
+
+    //A way of scoring one sample that may throw checked exceptions.
+    private interface Transport {
+        double score(double[] sample) throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        int requests = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int batch = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+        long delay = args.length > 3 ? Long.parseLong(args[3]) : 200;
+        //Without this the loopback responses wait on Nagle's algorithm and the delayed ACK. The JDK's server reads it
+        //once, so it is set before the first server is created unless given on the command line.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+
+        BasisFunction[] fncs = SyntheticData.basis(BASIS);
+        double[][] X = SyntheticData.features(4096, FEATURES, 42);
+        LogRegClassifier model = new LogRegClassifier(0.1, fncs);
+        model.restore(SyntheticData.weights(BasisExpansion.numWeights(FEATURES, BASIS), 43));
+
+        System.out.printf("%d clients x %d requests, batches of up to %d, %d us delay%n", clients, requests, batch, delay);
+        run("direct", clients, requests, X, model::predict);
+
+        try (BatchScorer scorer = new BatchScorer(model, batch, delay)) {
+            run("batched", clients, requests, X, (x) -> scorer.submit(x).join());
+            System.out.printf("  mean batch size %.1f%n", scorer.getMeanBatchSize());
+        }
+
+        try (BatchScorer scorer = new BatchScorer(model, batch, delay);
+             ScoringServer server = new ScoringServer(scorer, 0, Runtime.getRuntime().availableProcessors())) {
+            HttpClient client = HttpClient.newHttpClient();
+            URI uri = URI.create("http://127.0.0.1:" + server.getPort() + "/predict");
+            run("http", clients, requests, X, (x) -> {
+                StringBuilder body = new StringBuilder();
+                for (int j = 0; j < x.length; j++) {
+                    body.append(j == 0 ? "" : ",").append(x[j]);
+                }
+                HttpRequest request = HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.ofString(body.toString())).build();
+                return Double.parseDouble(client.send(request, HttpResponse.BodyHandlers.ofString()).body().trim());
+            });
+            System.out.printf("  mean batch size %.1f%n", scorer.getMeanBatchSize());
+        }
+    }
+
+    //Runs the clients against a transport and prints the latency percentiles and throughput.
+    private static void run(String name, int clients, int requests, double[][] X, Transport transport) throws InterruptedException {
+        long[][] latencies = new long[clients][requests];
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[clients];
+        Exception[] failure = new Exception[1];
+
+        for (int c = 0; c < clients; c++) {
+            int client = c;
+            threads[c] = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int r = 0; r < requests; r++) {
+                        double[] x = X[(client * requests + r) % X.length];
+                        long t0 = System.nanoTime();
+                        transport.score(x);
+                        latencies[client][r] = System.nanoTime() - t0;
+                    }
+                }
+                catch (Exception e) {
+                    failure[0] = e;
+                }
+            });
+            threads[c].start();
+        }
+
+        long t0 = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - t0;
+        if (failure[0] != null) {
+            throw new IllegalStateException(name + " failed!", failure[0]);
+        }
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("%-8s p50 %8.1f us   p99 %8.1f us   %10.0f requests/s%n", name,
+                all[all.length / 2] / 1e3, all[(int) (all.length * 0.99)] / 1e3, all.length / (elapsed / 1e9));
+    }
+
+}
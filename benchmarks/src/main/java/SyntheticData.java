@@ -0,0 +1,133 @@
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * A static class that generates synthetic binary classification data, so the benchmarks can run without any data
+ * files.
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+public class SyntheticData {
+
+    /**
+     * The basis functions the benchmarks choose from, in order. The first is always the bias.
+     */
+    public static final BasisFunction[] BASIS = {
+            BasisFunctions.ONE, BasisFunctions.IDENTITY, BasisFunctions.SQUARE, BasisFunctions.CUBE,
+            BasisFunctions.SIN, BasisFunctions.COS, BasisFunctions.EXP
+    };
+
+    /**
+     * Returns the first few basis functions of {@link #BASIS}.
+     *
+     * @param n The number of basis functions, including the bias.
+     * @return The basis functions.
+     * @throws IllegalArgumentException If n is less than 2 or more than the number of available basis functions.
+     */
+    public static BasisFunction[] basis(int n) {
+        if (n < 2 || n > BASIS.length) {
+            throw new IllegalArgumentException("The number of basis functions must be between 2 and " + BASIS.length + "!");
+        }
+
+        BasisFunction[] fncs = new BasisFunction[n];
+        System.arraycopy(BASIS, 0, fncs, 0, n);
+        return fncs;
+    }
+
+    /**
+     * Generates features drawn from a standard normal distribution.
+     *
+     * @param rows The number of samples.
+     * @param features The number of features of each sample.
+     * @param seed The seed of the random number generator.
+     * @return The features, one sample per row.
+     */
+    public static double[][] features(int rows, int features, long seed) {
+        Random random = new Random(seed);
+        double[][] X = new double[rows][features];
+
+        for (double[] row : X) {
+            for (int j = 0; j < features; j++) {
+                row[j] = random.nextGaussian();
+            }
+        }
+
+        return X;
+    }
+
+    /**
+     * Generates weights drawn from a normal distribution, scaled so that the scores stay in a reasonable range.
+     *
+     * @param n The number of weights.
+     * @param seed The seed of the random number generator.
+     * @return The weights.
+     */
+    public static double[] weights(int n, long seed) {
+        Random random = new Random(seed);
+        double[] w = new double[n];
+
+        for (int i = 0; i < n; i++) {
+            w[i] = random.nextGaussian() / Math.sqrt(n);
+        }
+
+        return w;
+    }
+
+    /**
+     * Generates labels from a logistic model with the weights and basis functions provided.
+     *
+     * @param X The features, one sample per row.
+     * @param w The weights of the logistic model.
+     * @param fncs The basis functions of the logistic model.
+     * @param seed The seed of the random number generator.
+     * @return The label of each sample, either 0 or 1.
+     */
+    public static double[] labels(double[][] X, double[] w, BasisFunction[] fncs, long seed) {
+        Random random = new Random(seed);
+        double[] y = new double[X.length];
+
+        for (int i = 0; i < X.length; i++) {
+            double p = ActivationFunctions.sigmoid(BasisExpansion.evaluate(X[i], w, fncs));
+            y[i] = random.nextDouble() < p ? 1 : 0;
+        }
+
+        return y;
+    }
+
+    /**
+     * Writes a csv file with an id column, the features, and the label as either "M" or "B" in the last column.
+     *
+     * @param X The features, one sample per row.
+     * @param y The label of each sample, either 0 or 1.
+     * @return The path of the temporary file, which is deleted when the JVM exits.
+     */
+    public static Path writeCsv(double[][] X, double[] y) {
+        try {
+            Path file = Files.createTempFile("ml-bench", ".csv");
+            file.toFile().deleteOnExit();
+
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+                for (int i = 0; i < X.length; i++) {
+                    StringBuilder line = new StringBuilder().append(i);
+                    for (double x : X[i]) {
+                        line.append(',').append(String.format("%.6f", x));
+                    }
+                    line.append(',').append(y[i] == 1 ? "B" : "M");
+                    out.println(line);
+                }
+            }
+
+            return file;
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,166 @@
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A static class that prepares the operations measured by the benchmarks.
+ * <p>
+ *     The library lives in the unnamed package, which JMH benchmarks cannot refer to. Each group of operations is
+ *     built here on one shared set of synthetic data and handed to the benchmarks as plain {@link Supplier}s.
+ * </p>
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+public class Workloads {
+
+    private static final long SEED = 42;
+    private static final int MAX_ITERATIONS = 100000;
+
+    /**
+     * Creates the operations of a group on synthetic data of the size provided.
+     *
+     * @param group One of "scoring", "training", "ingestion", "metrics" or "simd".
+     * @param rows The number of samples.
+     * @param features The number of features of each sample.
+     * @param basis The number of basis functions, including the bias.
+     * @return The operations of the group, by name.
+     * @throws IllegalArgumentException If the group is unknown.
+     */
+    public static Map<String, Supplier<Object>> create(String group, int rows, int features, int basis) {
+        BasisFunction[] fncs = SyntheticData.basis(basis);
+        double[][] X = SyntheticData.features(rows, features, SEED);
+        double[] w = SyntheticData.weights(BasisExpansion.numWeights(features, basis), SEED + 1);
+        double[] y = SyntheticData.labels(X, w, fncs, SEED + 2);
+        Map<String, Supplier<Object>> ops = new LinkedHashMap<>();
+
+        switch (group) {
+            case "scoring": {
+                LogRegClassifier model = new LogRegClassifier(0.1, fncs);
+                model.restore(w);
+                LogRegClassifier parallel = new LogRegClassifier(0.1, fncs);
+                parallel.restore(w);
+                parallel.setParallelism(Runtime.getRuntime().availableProcessors());
+                Matrix xMatrix = new Matrix(X);
+                double[] out = new double[rows];
+
+                ops.put("buildFunction", () -> model.buildFunction(xMatrix));
+                ops.put("predictProtected", () -> model.predictProtected(xMatrix));
+                ops.put("predictParallel", () -> {
+                    parallel.predictMultipleSamples(X, out);
+                    return out;
+                });
+                Scorer compiled = model.compile();
+                ops.put("compiled", () -> {
+                    compiled.score(X, out);
+                    return out;
+                });
+                break;
+            }
+            case "training": {
+                Matrix xMatrix = new Matrix(X);
+                Matrix yMatrix = new Matrix(y);
+                int n = w.length;
+                SGDSolver sgd = new SGDSolver(64, 1);
+                ParallelGradientSolver parallel = new ParallelGradientSolver(10);
+                ParallelGradientSolver serial = new ParallelGradientSolver(1, 10, ParallelGradientSolver.Mode.SYNCHRONOUS, 0);
+                ParallelGradientSolver toLoss = new ParallelGradientSolver(Runtime.getRuntime().availableProcessors(), MAX_ITERATIONS, ParallelGradientSolver.Mode.SYNCHRONOUS, 0);
+                IRLSSolver irls = new IRLSSolver();
+                LBFGSSolver lbfgs = new LBFGSSolver();
+
+                //Regression.logisticReg decides for itself how many steps to take, so the parallel solver is compared
+                //with it by running the same full batch gradient descent until it reaches the same training loss
+                double[] reference = Regression.logisticReg(xMatrix, yMatrix, LinearAlgebra.zeroMatrix(n, 1), 0.1, fncs, false).getCol(1);
+                double targetLoss = LogisticLoss.evaluate(X, y, reference, fncs, new double[n]);
+
+                ops.put("logisticReg", () -> Regression.logisticReg(xMatrix, yMatrix, LinearAlgebra.zeroMatrix(n, 1), 0.1, fncs, false));
+                ops.put("sgd", () -> sgd.solve(X, y, new double[n], fncs, 0.1));
+                ops.put("parallelGradient", () -> parallel.solve(X, y, new double[n], fncs, 0.1));
+                ops.put("serialGradient", () -> serial.solve(X, y, new double[n], fncs, 0.1));
+                ops.put("parallelGradientToLoss", () -> toLoss.solve(X, y, new double[n], fncs, 0.1, untilLoss(targetLoss)));
+                ops.put("irls", () -> irls.solve(X, y, new double[n], fncs, 0.1));
+                ops.put("lbfgs", () -> lbfgs.solve(X, y, new double[n], fncs, 0.1));
+                break;
+            }
+            case "ingestion": {
+                String file = SyntheticData.writeCsv(X, y).toString();
+
+                ops.put("getBCData", () -> Data.getBCData(file, "M", "B", 1, 80, false, true, true));
+                ops.put("csvReader", () -> CsvReader.read(file, "M", "B", 1, false));
+                break;
+            }
+            case "metrics": {
+                Matrix xMatrix = new Matrix(X);
+                Matrix yMatrix = new Matrix(y);
+                Matrix wMatrix = new Matrix(w);
+
+                //getThresholdROCCurve scores the samples itself, so the exact operations score them too
+                ops.put("thresholdROCCurve", () -> Metrics.getThresholdROCCurve(xMatrix, yMatrix, wMatrix, fncs));
+                ops.put("exactROCCurve", () -> Metrics.getROCCurve(yMatrix, new Matrix(score(X, w, fncs))));
+                ops.put("exactAUC", () -> Metrics.getExactAUC(y, score(X, w, fncs)));
+                break;
+            }
+            case "simd": {
+                //Each sample's features against a weight vector of the same length
+                double[] flat = new double[rows * features];
+                for (int i = 0; i < rows; i++) {
+                    System.arraycopy(X[i], 0, flat, i * features, features);
+                }
+                double[] weights = SyntheticData.weights(features, SEED + 3);
+                double[] z = new double[rows * features];
+
+                for (VectorOps backend : new VectorOps[]{VectorOps.scalar(), VectorOps.simd()}) {
+                    if (backend == null) {
+                        continue;
+                    }
+                    String name = backend == VectorOps.scalar() ? "scalar" : "simd";
+                    ops.put(name + "Dot", () -> {
+                        double sum = 0.0;
+                        for (int i = 0; i < rows; i++) {
+                            sum += backend.dot(flat, i * features, weights, 0, features);
+                        }
+                        return sum;
+                    });
+                    ops.put(name + "Axpy", () -> {
+                        for (int i = 0; i < rows; i++) {
+                            backend.axpy(1e-9, flat, i * features, weights, 0, features);
+                        }
+                        return weights;
+                    });
+                    ops.put(name + "Sigmoid", () -> {
+                        System.arraycopy(flat, 0, z, 0, z.length);
+                        backend.sigmoid(z, 0, z.length);
+                        return z;
+                    });
+                }
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown benchmark group " + group + "!");
+        }
+
+        return ops;
+    }
+
+    //Scores every sample the way getThresholdROCCurve does: the basis expansion followed by the sigmoid.
+    private static double[] score(double[][] X, double[] w, BasisFunction[] fncs) {
+        double[] scores = BasisExpansion.evaluate(X, w, fncs);
+        ActivationFunctions.sigmoid(scores, 0, scores.length);
+        return scores;
+    }
+
+    //A monitor that stops training once the training loss is at most the target. The loss a solver reports is
+    //the one before its last step, so training runs at most one step past the target.
+    private static TrainingMonitor untilLoss(double target) {
+        TrainingListener ignored = (event) -> { };
+        return new TrainingMonitor("benchmark", Collections.singletonList(ignored)) {
+            @Override
+            public boolean iteration(int iteration, double loss, double gradientNorm, double[] w) {
+                return super.iteration(iteration, loss, gradientNorm, w) && loss > target;
+            }
+        };
+    }
+
+}
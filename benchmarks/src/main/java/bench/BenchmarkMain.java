@@ -0,0 +1,34 @@
+package bench;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler enabled, so every result includes the allocation rate. Accepts the usual
+ * JMH command line options, such as a benchmark name pattern or {@code -p rows=1000}. The forked JVMs load the vector
+ * API module, so the library uses its SIMD backend unless {@code -jvmArgsAppend -Dml.simd=false} is passed.
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        List<String> jvmArgs = new ArrayList<>();
+        jvmArgs.add("--add-modules=jdk.incubator.vector");
+        if (cmd.getJvmArgsAppend().hasValue()) {
+            jvmArgs.addAll(cmd.getJvmArgsAppend().get());
+        }
+
+        new Runner(new OptionsBuilder().parent(cmd).addProfiler(GCProfiler.class).jvmArgsAppend(jvmArgs.toArray(new String[0])).build()).run();
+    }
+
+}
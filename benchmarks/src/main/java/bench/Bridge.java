@@ -0,0 +1,26 @@
+package bench;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Looks up the operations prepared by the unnamed package's {@code Workloads} class.
+ */
+final class Bridge {
+
+    private Bridge() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static Map<String, Supplier<Object>> workloads(String group, int rows, int features, int basis) {
+        try {
+            return (Map<String, Supplier<Object>>) Class.forName("Workloads")
+                    .getMethod("create", String.class, int.class, int.class, int.class)
+                    .invoke(null, group, rows, features, basis);
+        }
+        catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create the " + group + " workloads!", e);
+        }
+    }
+
+}
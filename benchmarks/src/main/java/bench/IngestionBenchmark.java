@@ -0,0 +1,57 @@
+package bench;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures loading a csv file with {@code Data.getBCData}, including cleaning and scaling, and with the csv reader
+ * alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class IngestionBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int rows;
+
+    @Param({"10", "50"})
+    public int features;
+
+    private Supplier<Object> getBCData;
+    private Supplier<Object> csvReader;
+
+    @Setup
+    public void setup() {
+        Map<String, Supplier<Object>> ops = Bridge.workloads("ingestion", rows, features, 2);
+        getBCData = ops.get("getBCData");
+        csvReader = ops.get("csvReader");
+    }
+
+    @Benchmark
+    public Object getBCData() {
+        return getBCData.get();
+    }
+
+    @Benchmark
+    public Object csvReader() {
+        return csvReader.get();
+    }
+
+}
@@ -0,0 +1,64 @@
+package bench;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures computing the ROC curve with the fixed threshold sweep and with the exact sorted walk. Every operation
+ * scores the samples from the weights first, so they all do the same scoring work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int rows;
+
+    @Param({"10"})
+    public int features;
+
+    private Supplier<Object> thresholdROCCurve;
+    private Supplier<Object> exactROCCurve;
+    private Supplier<Object> exactAUC;
+
+    @Setup
+    public void setup() {
+        Map<String, Supplier<Object>> ops = Bridge.workloads("metrics", rows, features, 2);
+        thresholdROCCurve = ops.get("thresholdROCCurve");
+        exactROCCurve = ops.get("exactROCCurve");
+        exactAUC = ops.get("exactAUC");
+    }
+
+    @Benchmark
+    public Object thresholdROCCurve() {
+        return thresholdROCCurve.get();
+    }
+
+    @Benchmark
+    public Object exactROCCurve() {
+        return exactROCCurve.get();
+    }
+
+    @Benchmark
+    public Object exactAUC() {
+        return exactAUC.get();
+    }
+
+}
@@ -0,0 +1,74 @@
+package bench;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures scoring a batch of samples with {@code Model.buildFunction}, {@code LogRegClassifier.predictProtected},
+ * parallel batch scoring and a scorer from {@code Model.compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScoringBenchmark {
+
+    @Param({"1000", "100000"})
+    public int rows;
+
+    @Param({"10", "200"})
+    public int features;
+
+    @Param({"2", "4"})
+    public int basis;
+
+    private Supplier<Object> buildFunction;
+    private Supplier<Object> predictProtected;
+    private Supplier<Object> predictParallel;
+    private Supplier<Object> compiled;
+
+    @Setup
+    public void setup() {
+        Map<String, Supplier<Object>> ops = Bridge.workloads("scoring", rows, features, basis);
+        buildFunction = ops.get("buildFunction");
+        predictProtected = ops.get("predictProtected");
+        predictParallel = ops.get("predictParallel");
+        compiled = ops.get("compiled");
+    }
+
+    @Benchmark
+    public Object buildFunction() {
+        return buildFunction.get();
+    }
+
+    @Benchmark
+    public Object predictProtected() {
+        return predictProtected.get();
+    }
+
+    @Benchmark
+    public Object predictParallel() {
+        return predictParallel.get();
+    }
+
+    @Benchmark
+    public Object compiled() {
+        return compiled.get();
+    }
+
+}
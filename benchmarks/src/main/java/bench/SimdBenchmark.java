@@ -0,0 +1,70 @@
+package bench;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the scalar and SIMD backends of {@code VectorOps} on the kernels used by scoring and training: the dot
+ * product of a sample with the weights, the gradient update and the sigmoid.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class SimdBenchmark {
+
+    @Param({"scalar", "simd"})
+    public String backend;
+
+    @Param({"10000"})
+    public int rows;
+
+    @Param({"30", "256"})
+    public int features;
+
+    private Supplier<Object> dot;
+    private Supplier<Object> axpy;
+    private Supplier<Object> sigmoid;
+
+    @Setup
+    public void setup() {
+        Map<String, Supplier<Object>> ops = Bridge.workloads("simd", rows, features, 2);
+        dot = ops.get(backend + "Dot");
+        axpy = ops.get(backend + "Axpy");
+        sigmoid = ops.get(backend + "Sigmoid");
+        if (dot == null) {
+            throw new IllegalStateException("The " + backend + " backend is not available!");
+        }
+    }
+
+    @Benchmark
+    public Object dot() {
+        return dot.get();
+    }
+
+    @Benchmark
+    public Object axpy() {
+        return axpy.get();
+    }
+
+    @Benchmark
+    public Object sigmoid() {
+        return sigmoid.get();
+    }
+
+}
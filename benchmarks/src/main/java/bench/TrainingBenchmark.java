@@ -0,0 +1,98 @@
+package bench;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures fitting a logistic regression model with {@code Regression.logisticReg} and with the solvers that can be
+ * given to {@code LogRegClassifier}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class TrainingBenchmark {
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    @Param({"10", "50"})
+    public int features;
+
+    @Param({"2", "3"})
+    public int basis;
+
+    private Supplier<Object> logisticReg;
+    private Supplier<Object> sgd;
+    private Supplier<Object> parallelGradient;
+    private Supplier<Object> serialGradient;
+    private Supplier<Object> parallelGradientToLoss;
+    private Supplier<Object> irls;
+    private Supplier<Object> lbfgs;
+
+    @Setup
+    public void setup() {
+        Map<String, Supplier<Object>> ops = Bridge.workloads("training", rows, features, basis);
+        logisticReg = ops.get("logisticReg");
+        sgd = ops.get("sgd");
+        parallelGradient = ops.get("parallelGradient");
+        serialGradient = ops.get("serialGradient");
+        parallelGradientToLoss = ops.get("parallelGradientToLoss");
+        irls = ops.get("irls");
+        lbfgs = ops.get("lbfgs");
+    }
+
+    @Benchmark
+    public Object logisticReg() {
+        return logisticReg.get();
+    }
+
+    @Benchmark
+    public Object sgd() {
+        return sgd.get();
+    }
+
+    @Benchmark
+    public Object parallelGradient() {
+        return parallelGradient.get();
+    }
+
+    //The same number of full batch steps as parallelGradient, on one thread
+    @Benchmark
+    public Object serialGradient() {
+        return serialGradient.get();
+    }
+
+    //Full batch steps on every processor until the training loss of logisticReg is reached
+    @Benchmark
+    public Object parallelGradientToLoss() {
+        return parallelGradientToLoss.get();
+    }
+
+    //Solves to convergence, unlike the gradient descent benchmarks which make a fixed number of passes
+    @Benchmark
+    public Object irls() {
+        return irls.get();
+    }
+
+    @Benchmark
+    public Object lbfgs() {
+        return lbfgs.get();
+    }
+
+}
@@ -2,8 +2,78 @@ import java.util.function.Function;
 
 public class ActivationFunctions {
 
+    //The largest difference between fastSigmoid and sigmoid for any input, including the infinities.
+    public static final double FAST_SIGMOID_MAX_ERROR = 1.5e-5;
+
+    //fastSigmoid interpolates a table over [-TABLE_RANGE, TABLE_RANGE] with TABLE_STEPS entries per unit. Linear
+    //interpolation is off by at most max|sigmoid''| * h^2 / 8 = 0.0963 / (8 * 32^2) = 1.2e-5, and outside the table
+    //the result is rounded to 0 or 1, which is off by at most sigmoid(-16) = 1.1e-7.
+    private static final double TABLE_RANGE = 16.0;
+    private static final int TABLE_STEPS = 32;
+    private static final double[] SIGMOID_TABLE = sigmoidTable();
+
     public static Function<Double, Double> sigmoid = (z) -> 1 / (1 + Math.exp(-z));
 
-    //ToDo: Softmax
+    //Unboxed sigmoid for use inside loops.
+    public static double sigmoid(double z) {
+        return 1 / (1 + Math.exp(-z));
+    }
+
+    //Replaces z[offset, offset + length) with its sigmoid, in place, using the SIMD backend when it is available.
+    public static void sigmoid(double[] z, int offset, int length) {
+        VectorOps.get().sigmoid(z, offset, length);
+    }
+
+    //Approximates the sigmoid to within FAST_SIGMOID_MAX_ERROR by interpolating a table, without calling Math.exp.
+    public static double fastSigmoid(double z) {
+        if (z >= TABLE_RANGE) {
+            return 1.0;
+        }
+        if (!(z > -TABLE_RANGE)) {
+            return z != z ? Double.NaN : 0.0;
+        }
+
+        double t = (z + TABLE_RANGE) * TABLE_STEPS;
+        int i = (int) t;
+        double f = t - i;
+        return SIGMOID_TABLE[i] + f * (SIGMOID_TABLE[i + 1] - SIGMOID_TABLE[i]);
+    }
+
+    //Replaces z[offset, offset + length) with its approximate sigmoid, in place.
+    public static void fastSigmoid(double[] z, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            z[i] = fastSigmoid(z[i]);
+        }
+    }
+
+    //Replaces z[offset, offset + k) with its softmax, in place, and returns the log-sum-exp of the original values.
+    //The largest value is subtracted before exponentiating so large logits cannot overflow.
+    public static double softmax(double[] z, int offset, int k) {
+        double max = Double.NEGATIVE_INFINITY;
+        for (int c = offset; c < offset + k; c++) {
+            max = Math.max(max, z[c]);
+        }
+
+        double sum = 0.0;
+        for (int c = offset; c < offset + k; c++) {
+            z[c] = Math.exp(z[c] - max);
+            sum += z[c];
+        }
+        for (int c = offset; c < offset + k; c++) {
+            z[c] /= sum;
+        }
+
+        return max + Math.log(sum);
+    }
+
+    //One entry past TABLE_RANGE, since inputs just below it can round up to the last index.
+    private static double[] sigmoidTable() {
+        double[] table = new double[(int) (2 * TABLE_RANGE * TABLE_STEPS) + 2];
+        for (int i = 0; i < table.length; i++) {
+            table[i] = sigmoid(-TABLE_RANGE + (double) i / TABLE_STEPS);
+        }
+
+        return table;
+    }
 
 }
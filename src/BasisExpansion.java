@@ -0,0 +1,331 @@
+/**
+ * A static class that evaluates weighted basis function expansions.
+ * <p>
+ *     The first basis function is the bias and is only applied to the first feature. Every other basis function is
+ *     applied to every feature, with the weights ordered by feature and then by basis function. The whole weighted
+ *     sum for a sample is computed in one pass over that sample without creating intermediate matrices.
+ * </p>
+ * <p>
+ *     Samples stored in a {@link SparseMatrix} are expanded around the all-zero sample: the value of the expansion at
+ *     zero is computed once, and each non-zero feature only adds the change its basis functions make, so the cost of a
+ *     sample grows with its number of non-zero features.
+ * </p>
+ * <p>
+ *     When the expansion is the bias plus {@link BasisFunctions#IDENTITY}, the weighted sum of a sample is a dot
+ *     product and the gradient update is a scaled vector addition, so both run on the {@link VectorOps} backend, as
+ *     do the per-class loops of multi-output expansions.
+ * </p>
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+public class BasisExpansion {
+    private static final VectorOps OPS = VectorOps.get();
+
+    /**
+     * Computes the number of weights needed by an expansion.
+     *
+     * @param numFeatures The number of features in each sample.
+     * @param numFncs The number of basis functions, including the bias.
+     * @return The number of weights needed by the expansion.
+     */
+    public static int numWeights(int numFeatures, int numFncs) {
+        return numFeatures * (numFncs - 1) + 1;
+    }
+
+    /**
+     * Computes the value of the weighted expansion for a single sample.
+     *
+     * @param x The parameter values of a single sample.
+     * @param w The weights of the expansion.
+     * @param fncs The basis functions of the expansion.
+     * @return The value of the weighted expansion at x.
+     */
+    public static double evaluate(double[] x, double[] w, BasisFunction[] fncs) {
+        if (isLinear(fncs)) {
+            return w[0] * fncs[0].applyAsDouble(x[0]) + OPS.dot(x, 0, w, 1, x.length);
+        }
+
+        int m = fncs.length - 1;
+        double sum = w[0] * fncs[0].applyAsDouble(x[0]);
+
+        for (int j = 0; j < x.length; j++) {
+            double xj = x[j];
+            int base = j * m + 1;
+            for (int i = 0; i < m; i++) {
+                sum += w[base + i] * fncs[i + 1].applyAsDouble(xj);
+            }
+        }
+
+        return sum;
+    }
+
+    /**
+     * Computes the value of the weighted expansion for a set of samples.
+     *
+     * @param X The parameter values for a set of samples, one sample per row.
+     * @param w The weights of the expansion.
+     * @param fncs The basis functions of the expansion.
+     * @param out The array the values will be written to.
+     * @throws IllegalArgumentException If the number of weights does not match the samples and basis functions.
+     * @throws IllegalArgumentException If the output array does not have one entry for each sample.
+     */
+    public static void evaluate(double[][] X, double[] w, BasisFunction[] fncs, double[] out) {
+        if (out.length != X.length) {
+            throw new IllegalArgumentException("The output must have one entry for each sample! There are " + X.length + " samples and " + out.length + " entries!");
+        }
+        if (X.length > 0 && w.length != numWeights(X[0].length, fncs.length)) {
+            throw new IllegalArgumentException("The number of weights does not match the number of features and basis functions!");
+        }
+
+        for (int r = 0; r < X.length; r++) {
+            out[r] = evaluate(X[r], w, fncs);
+        }
+    }
+
+    /**
+     * Computes the value of the weighted expansion for a set of samples.
+     *
+     * @param X The parameter values for a set of samples, one sample per row.
+     * @param w The weights of the expansion.
+     * @param fncs The basis functions of the expansion.
+     * @return The values of the weighted expansion, one for each sample.
+     */
+    public static double[] evaluate(double[][] X, double[] w, BasisFunction[] fncs) {
+        double[] out = new double[X.length];
+        evaluate(X, w, fncs, out);
+        return out;
+    }
+
+    /**
+     * Adds a scaled copy of a sample's expanded features to an array, such as when accumulating a gradient.
+     *
+     * @param x The parameter values of a single sample.
+     * @param scale The value each expanded feature is multiplied by.
+     * @param fncs The basis functions of the expansion.
+     * @param sum The array the scaled features will be added to, with one entry per weight.
+     */
+    public static void accumulate(double[] x, double scale, BasisFunction[] fncs, double[] sum) {
+        int m = fncs.length - 1;
+        sum[0] += scale * fncs[0].applyAsDouble(x[0]);
+        if (isLinear(fncs)) {
+            OPS.axpy(scale, x, 0, sum, 1, x.length);
+            return;
+        }
+
+        for (int j = 0; j < x.length; j++) {
+            double xj = x[j];
+            int base = j * m + 1;
+            for (int i = 0; i < m; i++) {
+                sum[base + i] += scale * fncs[i + 1].applyAsDouble(xj);
+            }
+        }
+    }
+
+    /**
+     * Computes k weighted expansions of a single sample at once, such as the logits of a multinomial model. The
+     * weights of the k expansions are interleaved, with the k weights of each expanded feature stored together, so
+     * each basis function is evaluated once for every expansion.
+     *
+     * @param x The parameter values of a single sample.
+     * @param w The weights of the expansions, k for each expanded feature.
+     * @param fncs The basis functions of the expansions.
+     * @param k The number of expansions.
+     * @param out The array the values will be written to.
+     * @param offset The index in out of the first value.
+     */
+    public static void evaluate(double[] x, double[] w, BasisFunction[] fncs, int k, double[] out, int offset) {
+        int m = fncs.length - 1;
+        double phi = fncs[0].applyAsDouble(x[0]);
+        for (int c = 0; c < k; c++) {
+            out[offset + c] = w[c] * phi;
+        }
+
+        for (int j = 0; j < x.length; j++) {
+            double xj = x[j];
+            int base = (j * m + 1) * k;
+            for (int i = 0; i < m; i++) {
+                phi = fncs[i + 1].applyAsDouble(xj);
+                OPS.axpy(phi, w, base + i * k, out, offset, k);
+            }
+        }
+    }
+
+    /**
+     * Adds the outer product of a sample's expanded features and k scales to an array, such as when accumulating the
+     * gradient of a multinomial model. The array is laid out like the weights of
+     * {@link #evaluate(double[], double[], BasisFunction[], int, double[], int)}.
+     *
+     * @param x The parameter values of a single sample.
+     * @param scale The array holding the k values each expanded feature is multiplied by.
+     * @param offset The index in scale of the first value.
+     * @param fncs The basis functions of the expansions.
+     * @param k The number of expansions.
+     * @param sum The array the scaled features will be added to, with k entries per expanded feature.
+     */
+    public static void accumulate(double[] x, double[] scale, int offset, BasisFunction[] fncs, int k, double[] sum) {
+        int m = fncs.length - 1;
+        double phi = fncs[0].applyAsDouble(x[0]);
+        for (int c = 0; c < k; c++) {
+            sum[c] += scale[offset + c] * phi;
+        }
+
+        for (int j = 0; j < x.length; j++) {
+            double xj = x[j];
+            int base = (j * m + 1) * k;
+            for (int i = 0; i < m; i++) {
+                phi = fncs[i + 1].applyAsDouble(xj);
+                OPS.axpy(phi, scale, offset, sum, base + i * k, k);
+            }
+        }
+    }
+
+    /**
+     * Computes the value of the weighted expansion for a range of samples stored in a sparse matrix.
+     *
+     * @param X The parameter values for a set of samples, one sample per row.
+     * @param start The first row to evaluate.
+     * @param end The row after the last row to evaluate.
+     * @param w The weights of the expansion.
+     * @param fncs The basis functions of the expansion.
+     * @param out The array the values will be written to, indexed by row.
+     * @throws IllegalArgumentException If the number of weights does not match the samples and basis functions.
+     */
+    public static void evaluate(SparseMatrix X, int start, int end, double[] w, BasisFunction[] fncs, double[] out) {
+        if (w.length != numWeights(X.getCols(), fncs.length)) {
+            throw new IllegalArgumentException("The number of weights does not match the number of features and basis functions!");
+        }
+
+        double[] zeros = zeros(fncs);
+        double base = baseline(w, zeros, X.getCols());
+        for (int r = start; r < end; r++) {
+            out[r] = evaluate(X, r, w, fncs, zeros, base);
+        }
+    }
+
+    /**
+     * Computes the value of the weighted expansion for every sample stored in a sparse matrix.
+     *
+     * @param X The parameter values for a set of samples, one sample per row.
+     * @param w The weights of the expansion.
+     * @param fncs The basis functions of the expansion.
+     * @return The values of the weighted expansion, one for each sample.
+     * @throws IllegalArgumentException If the number of weights does not match the samples and basis functions.
+     */
+    public static double[] evaluate(SparseMatrix X, double[] w, BasisFunction[] fncs) {
+        double[] out = new double[X.getRows()];
+        evaluate(X, 0, out.length, w, fncs, out);
+        return out;
+    }
+
+    //If the expansion is the bias plus the features themselves, so its weighted sum is a dot product.
+    private static boolean isLinear(BasisFunction[] fncs) {
+        return fncs.length == 2 && fncs[1] == BasisFunctions.IDENTITY;
+    }
+
+    //The value of each basis function at 0.
+    static double[] zeros(BasisFunction[] fncs) {
+        double[] zeros = new double[fncs.length];
+        for (int i = 0; i < fncs.length; i++) {
+            zeros[i] = fncs[i].applyAsDouble(0.0);
+        }
+
+        return zeros;
+    }
+
+    //The value of the weighted expansion for a sample whose features are all 0.
+    static double baseline(double[] w, double[] zeros, int numFeatures) {
+        return w[0] * zeros[0] + featureBaseline(w, zeros, numFeatures);
+    }
+
+    //The part of the baseline that does not come from the bias. It is 0 unless a basis function other than the bias
+    //is non-zero at 0, and otherwise reads every weight.
+    static double featureBaseline(double[] w, double[] zeros, int numFeatures) {
+        int m = zeros.length - 1;
+        double sum = 0.0;
+        if (!anyNonZero(zeros)) {
+            return sum;
+        }
+
+        for (int j = 0; j < numFeatures; j++) {
+            int base = j * m + 1;
+            for (int i = 0; i < m; i++) {
+                sum += w[base + i] * zeros[i + 1];
+            }
+        }
+
+        return sum;
+    }
+
+    //The value of the weighted expansion for one row of a sparse matrix, given the baseline of the weights.
+    static double evaluate(SparseMatrix X, int row, double[] w, BasisFunction[] fncs, double[] zeros, double baseline) {
+        int m = fncs.length - 1;
+        double sum = baseline;
+
+        for (int k = X.rowPtr[row]; k < X.rowPtr[row + 1]; k++) {
+            int j = X.colIdx[k];
+            double xj = X.values[k];
+            if (j == 0) {
+                sum += w[0] * (fncs[0].applyAsDouble(xj) - zeros[0]);
+            }
+            int base = j * m + 1;
+            for (int i = 0; i < m; i++) {
+                sum += w[base + i] * (fncs[i + 1].applyAsDouble(xj) - zeros[i + 1]);
+            }
+        }
+
+        return sum;
+    }
+
+    //Adds scale times the difference between a sparse row's expanded features and those of the all-zero sample.
+    static void accumulate(SparseMatrix X, int row, double scale, BasisFunction[] fncs, double[] zeros, double[] sum) {
+        int m = fncs.length - 1;
+
+        for (int k = X.rowPtr[row]; k < X.rowPtr[row + 1]; k++) {
+            int j = X.colIdx[k];
+            double xj = X.values[k];
+            if (j == 0) {
+                sum[0] += scale * (fncs[0].applyAsDouble(xj) - zeros[0]);
+            }
+            int base = j * m + 1;
+            for (int i = 0; i < m; i++) {
+                sum[base + i] += scale * (fncs[i + 1].applyAsDouble(xj) - zeros[i + 1]);
+            }
+        }
+    }
+
+    //Adds scale times the expanded features of the all-zero sample. Only touches the bias if every other basis
+    //function is 0 at 0.
+    static void accumulateZero(int numFeatures, double scale, double[] zeros, double[] sum) {
+        sum[0] += scale * zeros[0];
+        accumulateZeroFeatures(numFeatures, scale, zeros, sum);
+    }
+
+    //Adds the part of accumulateZero that does not go to the bias.
+    static void accumulateZeroFeatures(int numFeatures, double scale, double[] zeros, double[] sum) {
+        int m = zeros.length - 1;
+        if (!anyNonZero(zeros)) {
+            return;
+        }
+
+        for (int j = 0; j < numFeatures; j++) {
+            int base = j * m + 1;
+            for (int i = 0; i < m; i++) {
+                sum[base + i] += scale * zeros[i + 1];
+            }
+        }
+    }
+
+    //If any basis function other than the bias is non-zero at 0.
+    private static boolean anyNonZero(double[] zeros) {
+        for (int i = 1; i < zeros.length; i++) {
+            if (zeros[i] != 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+}
@@ -0,0 +1,59 @@
+import java.util.function.Function;
+
+/**
+ * A basis function that maps a single feature value to a single value without boxing.
+ * <p>
+ *     A basis function is still a {@code Function<Double, Double>}, so it can be used anywhere the existing code
+ *     expects one, but the models evaluate it through {@link #applyAsDouble(double)}.
+ * </p>
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface BasisFunction extends Function<Double, Double> {
+
+    /**
+     * Computes the value of the basis function at the point provided.
+     *
+     * @param x The point at which the basis function will be evaluated.
+     * @return The value of the basis function at x.
+     */
+    double applyAsDouble(double x);
+
+    @Override
+    default Double apply(Double x) {
+        return applyAsDouble(x);
+    }
+
+    /**
+     * Converts a boxed function into a basis function.
+     *
+     * @param fnc The function to be converted.
+     * @return The function provided if it already is a basis function, otherwise a basis function that calls it.
+     */
+    static BasisFunction of(Function<Double, Double> fnc) {
+        if (fnc instanceof BasisFunction) {
+            return (BasisFunction) fnc;
+        }
+
+        return (x) -> fnc.apply(x);
+    }
+
+    /**
+     * Converts a set of boxed functions into a set of basis functions.
+     *
+     * @param fncs The functions to be converted.
+     * @return The set of basis functions, in the same order as provided.
+     */
+    static BasisFunction[] of(Function<Double, Double>[] fncs) {
+        BasisFunction[] basis = new BasisFunction[fncs.length];
+
+        for (int i = 0; i < fncs.length; i++) {
+            basis[i] = of(fncs[i]);
+        }
+
+        return basis;
+    }
+}
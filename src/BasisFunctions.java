@@ -0,0 +1,82 @@
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A registry of named basis functions.
+ * <p>
+ *     A model can only be saved if each of its basis functions is registered, since the saved model records the name
+ *     of each function rather than the function itself. Common basis functions are registered by default; others can
+ *     be added with {@link #register(String, BasisFunction)} before a model using them is saved or loaded.
+ * </p>
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+public class BasisFunctions {
+
+    private static final Map<String, BasisFunction> BY_NAME = new ConcurrentHashMap<>();
+    private static final Map<Function<Double, Double>, String> BY_FUNCTION = new ConcurrentHashMap<>();
+
+    public static final BasisFunction ONE = register("one", (x) -> 1.0);
+    public static final BasisFunction IDENTITY = register("identity", (x) -> x);
+    public static final BasisFunction SQUARE = register("square", (x) -> x * x);
+    public static final BasisFunction CUBE = register("cube", (x) -> x * x * x);
+    public static final BasisFunction SQRT = register("sqrt", Math::sqrt);
+    public static final BasisFunction EXP = register("exp", Math::exp);
+    public static final BasisFunction LOG = register("log", Math::log);
+    public static final BasisFunction SIN = register("sin", Math::sin);
+    public static final BasisFunction COS = register("cos", Math::cos);
+
+    /**
+     * Registers a basis function under a name.
+     *
+     * @param name The name of the basis function.
+     * @param fnc The basis function.
+     * @return The basis function provided.
+     * @throws IllegalArgumentException If the name is already used by a different basis function.
+     */
+    public static BasisFunction register(String name, BasisFunction fnc) {
+        BasisFunction existing = BY_NAME.putIfAbsent(name, fnc);
+        if (existing != null && existing != fnc) {
+            throw new IllegalArgumentException("A different basis function is already registered as " + name + "!");
+        }
+        BY_FUNCTION.put(fnc, name);
+
+        return fnc;
+    }
+
+    /**
+     * Returns the basis function registered under a name.
+     *
+     * @param name The name of the basis function.
+     * @return The basis function.
+     * @throws IllegalArgumentException If no basis function is registered under the name.
+     */
+    public static BasisFunction get(String name) {
+        BasisFunction fnc = BY_NAME.get(name);
+        if (fnc == null) {
+            throw new IllegalArgumentException("No basis function is registered as " + name + "!");
+        }
+
+        return fnc;
+    }
+
+    /**
+     * Returns the name of a registered basis function.
+     *
+     * @param fnc The basis function.
+     * @return The name of the basis function.
+     * @throws IllegalArgumentException If the basis function is not registered.
+     */
+    public static String nameOf(Function<Double, Double> fnc) {
+        String name = BY_FUNCTION.get(fnc);
+        if (name == null) {
+            throw new IllegalArgumentException("The basis function " + fnc + " is not registered!");
+        }
+
+        return name;
+    }
+
+}
@@ -0,0 +1,207 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An asynchronous front end to a trained model that scores single requests in batches.
+ * <p>
+ *     Each call to {@link #submit(double[])} queues a sample and returns at once with a future. A single dispatcher
+ *     thread takes the oldest request, then keeps collecting requests until the batch is full or the oldest request
+ *     has waited for the maximum delay, and scores the whole batch with one call to
+ *     {@link Model#predictMultipleSamples(double[][], double[])}, which spreads it across the model's threads if its
+ *     parallelism is greater than 1. Under light load a request waits at most the maximum delay; under heavy load the
+ *     batches fill before the deadline and the per-request cost drops. If a batch fails, such as when one sample has
+ *     the wrong number of features, its requests are scored one at a time so only the bad ones fail.
+ * </p>
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+public class BatchScorer implements AutoCloseable {
+    private final Model model;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final BlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+    private final Thread dispatcher;
+    private volatile boolean closed = false;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    /**
+     * Creates a batch scorer and starts its dispatcher thread.
+     *
+     * @param model The trained model that will score the requests.
+     * @param maxBatchSize The largest number of requests scored together.
+     * @param maxDelayMicros The longest time, in microseconds, a request waits for its batch to fill.
+     * @throws IllegalArgumentException If the maximum batch size is less than 1 or the maximum delay is negative.
+     */
+    public BatchScorer(Model model, int maxBatchSize, long maxDelayMicros) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("The maximum batch size must be at least 1!");
+        }
+        if (maxDelayMicros < 0) {
+            throw new IllegalArgumentException("The maximum delay must not be negative!");
+        }
+
+        this.model = model;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = TimeUnit.MICROSECONDS.toNanos(maxDelayMicros);
+        dispatcher = new Thread(this::dispatch, "batch-scorer");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    /**
+     * Queues a sample to be scored in the next batch.
+     *
+     * @param sample The parameter values of a single sample. It must not be changed until the future completes.
+     * @return A future that completes with the model's prediction, or exceptionally if the sample cannot be scored.
+     * @throws IllegalStateException If the scorer has been closed.
+     */
+    public CompletableFuture<Double> submit(double[] sample) {
+        Request request = new Request(sample);
+
+        //Checked under the lock close uses, so no request is queued after the dispatcher's last pass
+        synchronized (queue) {
+            if (closed) {
+                throw new IllegalStateException("The scorer is closed!");
+            }
+            queue.add(request);
+        }
+
+        return request.future;
+    }
+
+    /**
+     * Returns the number of requests that have been scored.
+     *
+     * @return The number of requests scored.
+     */
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    /**
+     * Returns the number of batches that have been scored.
+     *
+     * @return The number of batches scored.
+     */
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    /**
+     * Returns the mean number of requests in a batch.
+     *
+     * @return The number of requests divided by the number of batches, or 0 if nothing has been scored.
+     */
+    public double getMeanBatchSize() {
+        long b = batches.sum();
+        return b == 0 ? 0.0 : (double) requests.sum() / b;
+    }
+
+    /**
+     * Stops accepting requests, scores the requests already queued, and stops the dispatcher thread.
+     */
+    @Override
+    public void close() {
+        synchronized (queue) {
+            closed = true;
+        }
+        dispatcher.interrupt();
+        try {
+            dispatcher.join();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    //Collects and scores batches until the scorer is closed and the queue is empty.
+    private void dispatch() {
+        List<Request> batch = new ArrayList<>(maxBatchSize);
+
+        while (!closed || !queue.isEmpty()) {
+            try {
+                Request first = closed ? queue.poll() : queue.take();
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                //Filling the batch until it is full or the oldest request's deadline passes
+                long deadline = first.arrival + maxDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    Request next = queue.poll();
+                    if (next == null) {
+                        long wait = deadline - System.nanoTime();
+                        if (wait <= 0 || closed) {
+                            break;
+                        }
+                        next = queue.poll(wait, TimeUnit.NANOSECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                    }
+                    batch.add(next);
+                }
+            }
+            catch (InterruptedException e) {
+                //Closing interrupts a wait, after which the queued requests are still scored
+            }
+
+            if (!batch.isEmpty()) {
+                score(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    //Scores a batch and completes its futures, falling back to single predictions if the batch fails.
+    private void score(List<Request> batch) {
+        int n = batch.size();
+        double[][] samples = new double[n][];
+        double[] out = new double[n];
+        for (int i = 0; i < n; i++) {
+            samples[i] = batch.get(i).sample;
+        }
+
+        batches.increment();
+        requests.add(n);
+        try {
+            model.predictMultipleSamples(samples, out);
+        }
+        catch (RuntimeException e) {
+            for (Request request : batch) {
+                try {
+                    request.future.complete(model.predict(request.sample));
+                }
+                catch (RuntimeException single) {
+                    request.future.completeExceptionally(single);
+                }
+            }
+            return;
+        }
+
+        for (int i = 0; i < n; i++) {
+            batch.get(i).future.complete(out[i]);
+        }
+    }
+
+    //A queued sample and the future of its prediction.
+    private static final class Request {
+        private final double[] sample;
+        private final long arrival = System.nanoTime();
+        private final CompletableFuture<Double> future = new CompletableFuture<>();
+
+        private Request(double[] sample) {
+            this.sample = sample;
+        }
+    }
+
+}
@@ -0,0 +1,378 @@
+import java.io.Serializable;
+
+/**
+ * The evaluation of a classifier on a set of samples.
+ * <p>
+ *     A report is built from a single set of predictions, which it keeps, and computes everything else from them
+ *     once: the confusion matrix, the accuracy, the precision, recall, F1-score and support of each class, and, for
+ *     binary classification, the exact ROC curve and its AUC. Classes are numbered 0 to k - 1.
+ * </p>
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+public class ClassificationReport implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final double[] labels;
+    private final double[] scores;
+    private final double[][] confusion;
+    private final double[] precision;
+    private final double[] recall;
+    private final double[] f1;
+    private final double[] support;
+    private final double total;
+    private final double accuracy;
+    private final double[] fpr;
+    private final double[] tpr;
+    private final double auc;
+
+    /**
+     * Creates a classification report from a set of labels and predictions.
+     *
+     * @param yExact The true data set.
+     * @param yApprox The predicted data set. For binary classification this is the probability of class 1.
+     * @throws IllegalArgumentException If the data sets provided have more than one column.
+     * @throws IllegalArgumentException If the data sets provided are not the same length.
+     */
+    public ClassificationReport(Matrix yExact, Matrix yApprox) {
+        this(column(yExact), column(yApprox));
+    }
+
+    /**
+     * Creates a classification report from a set of labels and predictions.
+     *
+     * @param yExact The true data set.
+     * @param yApprox The predicted data set. For binary classification this is the probability of class 1.
+     * @throws IllegalArgumentException If the data sets provided are not the same length.
+     * @throws IllegalArgumentException If a label or rounded prediction is negative.
+     */
+    public ClassificationReport(double[] yExact, double[] yApprox) {
+        if (yExact.length != yApprox.length) {
+            throw new IllegalArgumentException("The data sets must be the same length!");
+        }
+
+        labels = yExact.clone();
+        scores = yApprox.clone();
+
+        int numClass = 0;
+        for (int i = 0; i < labels.length; i++) {
+            long actual = Math.round(labels[i]);
+            long predicted = Math.round(scores[i]);
+            if (actual < 0 || predicted < 0) {
+                throw new IllegalArgumentException("Classes must not be negative!");
+            }
+            numClass = (int) Math.max(numClass, Math.max(actual, predicted) + 1);
+        }
+
+        confusion = new double[numClass][numClass];
+        for (int i = 0; i < labels.length; i++) {
+            confusion[(int) Math.round(labels[i])][(int) Math.round(scores[i])] += 1;
+        }
+
+        precision = new double[numClass];
+        recall = new double[numClass];
+        f1 = new double[numClass];
+        support = new double[numClass];
+        double correct = 0;
+
+        for (int i = 0; i < numClass; i++) {
+            double predicted = 0;
+            for (int j = 0; j < numClass; j++) {
+                support[i] += confusion[i][j];
+                predicted += confusion[j][i];
+            }
+            correct += confusion[i][i];
+            precision[i] = confusion[i][i] / predicted;
+            recall[i] = confusion[i][i] / support[i];
+            f1[i] = (2 * recall[i] * precision[i]) / (recall[i] + precision[i]);
+        }
+
+        total = labels.length;
+        accuracy = correct / total;
+
+        if (numClass == 2) {
+            double[][] points = Metrics.rocPoints(labels, scores);
+            fpr = points[0];
+            tpr = points[1];
+            double area = 0.0;
+            for (int i = 1; i < fpr.length; i++) {
+                area += (fpr[i] - fpr[i - 1]) * (tpr[i] + tpr[i - 1]) / 2.0;
+            }
+            auc = area;
+        }
+        else {
+            fpr = null;
+            tpr = null;
+            auc = Double.NaN;
+        }
+    }
+
+    //Returns the only column of a vector.
+    private static double[] column(Matrix y) {
+        if (y.getCols() != 1) {
+            throw new IllegalArgumentException("The data sets must have one column each!");
+        }
+
+        return y.getCol(1);
+    }
+
+    /**
+     * Returns the number of classes in the report.
+     *
+     * @return The number of classes in the report.
+     */
+    public int getNumClasses() {
+        return confusion.length;
+    }
+
+    /**
+     * Returns the true labels the report was built from.
+     *
+     * @return The true labels the report was built from.
+     */
+    public double[] getLabels() {
+        return labels.clone();
+    }
+
+    /**
+     * Returns the predictions the report was built from.
+     *
+     * @return The predictions the report was built from.
+     */
+    public double[] getScores() {
+        return scores.clone();
+    }
+
+    /**
+     * Returns the confusion matrix, with the actual classes as rows and the predicted classes as columns.
+     *
+     * @return The confusion matrix.
+     */
+    public Matrix getConfusionMatrix() {
+        double[][] CM = new double[confusion.length][];
+        for (int i = 0; i < CM.length; i++) {
+            CM[i] = confusion[i].clone();
+        }
+
+        return new Matrix(CM);
+    }
+
+    /**
+     * Returns the probability that a sample is correctly classified.
+     *
+     * @return The accuracy of the predictions.
+     */
+    public double getAccuracy() {
+        return accuracy;
+    }
+
+    /**
+     * Returns the probability that a sample predicted to be in a class is actually in that class.
+     *
+     * @param cls The class.
+     * @return The precision of the class.
+     */
+    public double getPrecision(int cls) {
+        return precision[cls];
+    }
+
+    /**
+     * Returns the probability that a sample in a class was predicted to be in that class.
+     *
+     * @param cls The class.
+     * @return The recall of the class.
+     */
+    public double getRecall(int cls) {
+        return recall[cls];
+    }
+
+    /**
+     * Returns the harmonic mean of the precision and recall of a class.
+     *
+     * @param cls The class.
+     * @return The F1-score of the class.
+     */
+    public double getF1(int cls) {
+        return f1[cls];
+    }
+
+    /**
+     * Returns the number of samples in a class.
+     *
+     * @param cls The class.
+     * @return The support of the class.
+     */
+    public double getSupport(int cls) {
+        return support[cls];
+    }
+
+    /**
+     * Returns the unweighted mean of the precision, recall and F1-score of every class.
+     *
+     * @return An array containing the macro averaged precision, recall and F1-score.
+     */
+    public double[] getMacroAverage() {
+        return new double[]{mean(precision, null), mean(recall, null), mean(f1, null)};
+    }
+
+    /**
+     * Returns the mean of the precision, recall and F1-score of every class, weighted by the support of each class.
+     *
+     * @return An array containing the weighted precision, recall and F1-score.
+     */
+    public double[] getWeightedAverage() {
+        return new double[]{mean(precision, support), mean(recall, support), mean(f1, support)};
+    }
+
+    /**
+     * Returns the exact ROC curve of a binary classifier.
+     *
+     * @return A matrix with the FPR in the first column and the TPR in the second, ordered by increasing threshold,
+     *         or null if there are not exactly two classes.
+     */
+    public Matrix getROCCurve() {
+        if (fpr == null) {
+            return null;
+        }
+
+        int n = fpr.length;
+        Matrix roc = new Matrix(n, 2);
+        for (int i = 0; i < n; i++) {
+            roc.setValue(n - i, 1, fpr[i]);
+            roc.setValue(n - i, 2, tpr[i]);
+        }
+
+        return roc;
+    }
+
+    /**
+     * Returns the exact area under the ROC curve of a binary classifier.
+     *
+     * @return The area under the ROC curve, or NaN if there are not exactly two classes.
+     */
+    public double getAUC() {
+        return auc;
+    }
+
+    /**
+     * Prints the report.
+     */
+    public void print() {
+        System.out.print(this);
+    }
+
+    /**
+     * Plots the ROC curve of a binary classifier.
+     *
+     * @throws IllegalStateException If there are not exactly two classes.
+     */
+    public void plotROC() {
+        Matrix roc = getROCCurve();
+        if (roc == null) {
+            throw new IllegalStateException("The ROC curve is only defined for two classes!");
+        }
+
+        String curve = "ROC Curve (AUC = " + String.format("%.2f", auc) + ")";
+        PyChart.plot(LinearAlgebra.vectorFromColumn(roc, 1), LinearAlgebra.vectorFromColumn(roc, 2), curve, "False Positive Rate", "True Positive Rate", "Receiver Operating Characteristic");
+    }
+
+    /**
+     * Creates a JSON representation of the report, without the labels and predictions it was built from.
+     *
+     * @return The report as a JSON object.
+     */
+    public String toJson() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"samples\":").append((long) total);
+        sb.append(",\"accuracy\":").append(json(accuracy));
+        sb.append(",\"auc\":").append(json(auc));
+        sb.append(",\"confusionMatrix\":[");
+        for (int i = 0; i < confusion.length; i++) {
+            sb.append(i == 0 ? "" : ",").append(json(confusion[i]));
+        }
+        sb.append("],\"precision\":").append(json(precision));
+        sb.append(",\"recall\":").append(json(recall));
+        sb.append(",\"f1\":").append(json(f1));
+        sb.append(",\"support\":").append(json(support));
+        sb.append(",\"macroAverage\":").append(json(getMacroAverage()));
+        sb.append(",\"weightedAverage\":").append(json(getWeightedAverage()));
+        sb.append("}");
+
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        Matrix CM = getConfusionMatrix();
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("Classification Report\n").append("---------------------\n");
+        //Printing the confusion matrix
+        sb.append("Confusion Matrix:\n");
+        for (int i = 0; i < confusion.length; i++) {
+            sb.append("Actual ").append(i).append(" - ").append(LinearAlgebra.transpose(LinearAlgebra.vectorFromRow(CM, i + 1))).append("\n");
+        }
+        sb.append("Predicted:     ");
+        for (int i = 0; i < confusion.length; i++) {
+            sb.append(i).append("      ");
+        }
+
+        //General Metrics
+        sb.append("\n\nAccuracy: ").append(accuracy).append("\n");
+        if (confusion.length == 2) {
+            sb.append("Precision: ").append(precision[1]).append("\n");
+            sb.append("Recall: ").append(recall[1]).append("\n");
+            sb.append("AUC: ").append(auc).append("\n");
+        }
+
+        //Class specific metrics
+        sb.append("\n\t\t\tPrecision\tRecall\tF1-score\tSupport\n");
+        for (int i = 0; i < confusion.length; i++) {
+            sb.append(row("\t\t" + i + "     ", precision[i], recall[i], f1[i], support[i]));
+        }
+
+        String sString = String.format("%.0f", total);
+        sb.append(" Accuracy\t\t\t\t\t\t  ").append(String.format("%.2f", accuracy)).append("\t\t   ").append(sString).append("\n");
+        double[] macro = getMacroAverage();
+        sb.append(row("Macro Avg     ", macro[0], macro[1], macro[2], total));
+        double[] weighted = getWeightedAverage();
+        sb.append(row("Micro Avg     ", weighted[0], weighted[1], weighted[2], total));
+
+        return sb.toString();
+    }
+
+    //Formats one row of the class specific metrics table.
+    private static String row(String name, double p, double r, double f, double s) {
+        return name + String.format("%.2f", p) + "\t\t " + String.format("%.2f", r) + "\t  " + String.format("%.2f", f) + "\t\t   " + String.format("%.0f", s) + "\n";
+    }
+
+    //Computes the mean of the values provided, weighted by the weights provided if they are not null.
+    private static double mean(double[] vals, double[] weights) {
+        double sum = 0.0;
+        double weightSum = 0.0;
+
+        for (int i = 0; i < vals.length; i++) {
+            double weight = weights == null ? 1.0 : weights[i];
+            sum += weight * vals[i];
+            weightSum += weight;
+        }
+
+        return sum / weightSum;
+    }
+
+    private static String json(double val) {
+        return Double.isFinite(val) ? Double.toString(val) : "null";
+    }
+
+    private static String json(double[] vals) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < vals.length; i++) {
+            sb.append(i == 0 ? "" : ",").append(json(vals[i]));
+        }
+
+        return sb.append("]").toString();
+    }
+
+}
@@ -0,0 +1,208 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The mean, standard deviation, minimum and maximum of each column of a data set.
+ * <p>
+ *     The statistics of every column are found in a single pass over the rows. Large data sets are split into blocks
+ *     of rows whose statistics are computed in parallel and then combined.
+ * </p>
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+public class ColumnStats {
+    //The number of rows handled by a single task.
+    private static final int BLOCK_SIZE = 4096;
+
+    private long n;
+    private final double[] mean;
+    private final double[] m2;
+    private final double[] min;
+    private final double[] max;
+
+    /**
+     * Creates a set of column statistics from values that were already computed, such as when loading a model.
+     *
+     * @param n The number of rows the statistics were computed from.
+     * @param mean The mean of each column.
+     * @param stDev The population standard deviation of each column.
+     * @param min The minimum of each column.
+     * @param max The maximum of each column.
+     * @throws IllegalArgumentException If the arrays are not the same length.
+     */
+    public ColumnStats(long n, double[] mean, double[] stDev, double[] min, double[] max) {
+        if (stDev.length != mean.length || min.length != mean.length || max.length != mean.length) {
+            throw new IllegalArgumentException("Every statistic must have one value for each column!");
+        }
+
+        this.n = n;
+        this.mean = mean.clone();
+        this.m2 = new double[mean.length];
+        this.min = min.clone();
+        this.max = max.clone();
+        for (int j = 0; j < mean.length; j++) {
+            m2[j] = stDev[j] * stDev[j] * n;
+        }
+    }
+
+    //Creates empty statistics for the number of columns provided.
+    private ColumnStats(int numCols) {
+        mean = new double[numCols];
+        m2 = new double[numCols];
+        min = new double[numCols];
+        max = new double[numCols];
+        for (int j = 0; j < numCols; j++) {
+            min[j] = Double.POSITIVE_INFINITY;
+            max[j] = Double.NEGATIVE_INFINITY;
+        }
+    }
+
+    /**
+     * Computes the statistics of a range of columns.
+     *
+     * @param data The data set, one sample per row.
+     * @param start The first column, inclusive.
+     * @param end The last column, exclusive.
+     * @return The statistics of the columns, where column 0 of the statistics is column start of the data.
+     * @throws IllegalArgumentException If the range of columns is not valid.
+     */
+    public static ColumnStats compute(double[][] data, int start, int end) {
+        if (start < 0 || end < start || (data.length > 0 && end > data[0].length)) {
+            throw new IllegalArgumentException("The columns must be between 0 and the number of columns in the data!");
+        }
+
+        return ForkJoinPool.commonPool().invoke(new StatsTask(data, start, end, 0, data.length));
+    }
+
+    /**
+     * Returns the number of columns.
+     *
+     * @return The number of columns.
+     */
+    public int getNumCols() {
+        return mean.length;
+    }
+
+    /**
+     * Returns the number of rows the statistics were computed from.
+     *
+     * @return The number of rows the statistics were computed from.
+     */
+    public long getCount() {
+        return n;
+    }
+
+    /**
+     * Returns the mean of a column.
+     *
+     * @param col The column, starting at 0.
+     * @return The mean of the column.
+     */
+    public double getMean(int col) {
+        return mean[col];
+    }
+
+    /**
+     * Returns the population standard deviation of a column.
+     *
+     * @param col The column, starting at 0.
+     * @return The population standard deviation of the column.
+     */
+    public double getStDev(int col) {
+        return n == 0 ? 0.0 : Math.sqrt(m2[col] / n);
+    }
+
+    /**
+     * Returns the minimum of a column.
+     *
+     * @param col The column, starting at 0.
+     * @return The minimum of the column.
+     */
+    public double getMin(int col) {
+        return min[col];
+    }
+
+    /**
+     * Returns the maximum of a column.
+     *
+     * @param col The column, starting at 0.
+     * @return The maximum of the column.
+     */
+    public double getMax(int col) {
+        return max[col];
+    }
+
+    //Adds a single row to the statistics using Welford's method.
+    private void add(double[] row, int start) {
+        n++;
+        for (int j = 0; j < mean.length; j++) {
+            double x = row[start + j];
+            double delta = x - mean[j];
+            mean[j] += delta / n;
+            m2[j] += delta * (x - mean[j]);
+            if (x < min[j]) {
+                min[j] = x;
+            }
+            if (x > max[j]) {
+                max[j] = x;
+            }
+        }
+    }
+
+    //Combines the statistics of another block of rows into these statistics.
+    private void merge(ColumnStats other) {
+        if (other.n == 0) {
+            return;
+        }
+
+        long total = n + other.n;
+        for (int j = 0; j < mean.length; j++) {
+            double delta = other.mean[j] - mean[j];
+            mean[j] += delta * other.n / total;
+            m2[j] += other.m2[j] + delta * delta * ((double) n * other.n / total);
+            min[j] = Math.min(min[j], other.min[j]);
+            max[j] = Math.max(max[j], other.max[j]);
+        }
+        n = total;
+    }
+
+    //Computes the statistics of a range of rows, splitting the range until it is at most one block long.
+    private static class StatsTask extends RecursiveTask<ColumnStats> {
+        private static final long serialVersionUID = 1L;
+
+        private final double[][] data;
+        private final int start;
+        private final int end;
+        private final int from;
+        private final int to;
+
+        private StatsTask(double[][] data, int start, int end, int from, int to) {
+            this.data = data;
+            this.start = start;
+            this.end = end;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected ColumnStats compute() {
+            if (to - from <= BLOCK_SIZE) {
+                ColumnStats stats = new ColumnStats(end - start);
+                for (int i = from; i < to; i++) {
+                    stats.add(data[i], start);
+                }
+                return stats;
+            }
+
+            int mid = (from + to) >>> 1;
+            StatsTask left = new StatsTask(data, start, end, from, mid);
+            left.fork();
+            ColumnStats stats = new StatsTask(data, start, end, mid, to).compute();
+            stats.merge(left.join());
+            return stats;
+        }
+    }
+
+}
@@ -0,0 +1,205 @@
+/**
+ * Creates scorers that evaluate a weighted basis function expansion with everything but the sample fixed.
+ * <p>
+ *     Each shape of expansion has its own final scorer class, so the call to each basis function in its inner loop
+ *     only ever sees one function and the JIT can inline it, where the generic loop of {@link BasisExpansion} calls
+ *     through an array of functions. The weights are laid out by basis function instead of by feature, so each inner
+ *     loop reads one contiguous array, and the bias is folded in ahead of time when its basis function does not depend
+ *     on the sample. The expansion's value is passed through a fixed link, such as the sigmoid.
+ * </p>
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+final class CompiledExpansion {
+    private static final VectorOps OPS = VectorOps.get();
+
+    //The function applied to the value of the expansion.
+    enum Link {
+        IDENTITY, SIGMOID, FAST_SIGMOID;
+
+        double apply(double z) {
+            switch (this) {
+                case SIGMOID:
+                    return ActivationFunctions.sigmoid(z);
+                case FAST_SIGMOID:
+                    return ActivationFunctions.fastSigmoid(z);
+                default:
+                    return z;
+            }
+        }
+    }
+
+    private CompiledExpansion() {
+    }
+
+    //Creates a scorer for the expansion with the weights and basis functions provided. The weights are copied.
+    static Scorer compile(double[] w, BasisFunction[] fncs, Link link) {
+        int m = fncs.length - 1;
+        if (m == 0) {
+            return new Bias(w[0], fncs[0], link);
+        }
+
+        int numFeatures = (w.length - 1) / m;
+        if (m == 1 && fncs[1] == BasisFunctions.IDENTITY) {
+            double[] linear = new double[numFeatures];
+            System.arraycopy(w, 1, linear, 0, numFeatures);
+            return new Linear(w[0], fncs[0], linear, link);
+        }
+
+        //Transposing the weights, so the weights of each basis function are contiguous
+        double[][] byFnc = new double[m][numFeatures];
+        for (int j = 0; j < numFeatures; j++) {
+            for (int i = 0; i < m; i++) {
+                byFnc[i][j] = w[j * m + 1 + i];
+            }
+        }
+
+        if (m == 1) {
+            return new Single(w[0], fncs[0], byFnc[0], fncs[1], link);
+        }
+        if (m == 2) {
+            return new Pair(w[0], fncs[0], byFnc[0], fncs[1], byFnc[1], fncs[2], link);
+        }
+
+        BasisFunction[] rest = new BasisFunction[m];
+        System.arraycopy(fncs, 1, rest, 0, m);
+        return new General(w[0], fncs[0], byFnc, rest, link);
+    }
+
+    //Shared handling of the bias and the link.
+    private abstract static class Compiled implements Scorer {
+        private final double biasWeight;
+        private final BasisFunction bias;
+        private final double constant;
+        private final boolean constantBias;
+        private final Link link;
+        protected final int numFeatures;
+
+        private Compiled(double biasWeight, BasisFunction bias, int numFeatures, Link link) {
+            this.biasWeight = biasWeight;
+            this.bias = bias;
+            this.numFeatures = numFeatures;
+            this.link = link;
+            constantBias = bias == BasisFunctions.ONE;
+            constant = constantBias ? biasWeight : 0.0;
+        }
+
+        @Override
+        public final double score(double[] x) {
+            if (numFeatures >= 0 && x.length != numFeatures) {
+                throw new IllegalArgumentException("The sample does not have the number of features the model was trained on!");
+            }
+
+            double sum = constantBias ? constant : biasWeight * bias.applyAsDouble(x[0]);
+            return link.apply(sum + expand(x));
+        }
+
+        //The weighted sum of the non-bias basis functions.
+        protected abstract double expand(double[] x);
+    }
+
+    //The bias alone, which works for samples with any number of features.
+    private static final class Bias extends Compiled {
+        private Bias(double biasWeight, BasisFunction bias, Link link) {
+            super(biasWeight, bias, -1, link);
+        }
+
+        @Override
+        protected double expand(double[] x) {
+            return 0.0;
+        }
+    }
+
+    //The bias plus the identity, which is a dot product.
+    private static final class Linear extends Compiled {
+        private final double[] w;
+
+        private Linear(double biasWeight, BasisFunction bias, double[] w, Link link) {
+            super(biasWeight, bias, w.length, link);
+            this.w = w;
+        }
+
+        @Override
+        protected double expand(double[] x) {
+            return OPS.dot(x, 0, w, 0, numFeatures);
+        }
+    }
+
+    //The bias plus one basis function.
+    private static final class Single extends Compiled {
+        private final double[] w1;
+        private final BasisFunction f1;
+
+        private Single(double biasWeight, BasisFunction bias, double[] w1, BasisFunction f1, Link link) {
+            super(biasWeight, bias, w1.length, link);
+            this.w1 = w1;
+            this.f1 = f1;
+        }
+
+        @Override
+        protected double expand(double[] x) {
+            double sum = 0.0;
+            for (int j = 0; j < numFeatures; j++) {
+                sum += w1[j] * f1.applyAsDouble(x[j]);
+            }
+
+            return sum;
+        }
+    }
+
+    //The bias plus two basis functions.
+    private static final class Pair extends Compiled {
+        private final double[] w1;
+        private final BasisFunction f1;
+        private final double[] w2;
+        private final BasisFunction f2;
+
+        private Pair(double biasWeight, BasisFunction bias, double[] w1, BasisFunction f1, double[] w2, BasisFunction f2, Link link) {
+            super(biasWeight, bias, w1.length, link);
+            this.w1 = w1;
+            this.f1 = f1;
+            this.w2 = w2;
+            this.f2 = f2;
+        }
+
+        @Override
+        protected double expand(double[] x) {
+            double sum = 0.0;
+            for (int j = 0; j < numFeatures; j++) {
+                double xj = x[j];
+                sum += w1[j] * f1.applyAsDouble(xj) + w2[j] * f2.applyAsDouble(xj);
+            }
+
+            return sum;
+        }
+    }
+
+    //The bias plus any number of basis functions, one pass over the sample per basis function.
+    private static final class General extends Compiled {
+        private final double[][] w;
+        private final BasisFunction[] fncs;
+
+        private General(double biasWeight, BasisFunction bias, double[][] w, BasisFunction[] fncs, Link link) {
+            super(biasWeight, bias, w[0].length, link);
+            this.w = w;
+            this.fncs = fncs;
+        }
+
+        @Override
+        protected double expand(double[] x) {
+            double sum = 0.0;
+            for (int i = 0; i < fncs.length; i++) {
+                double[] wi = w[i];
+                BasisFunction f = fncs[i];
+                for (int j = 0; j < numFeatures; j++) {
+                    sum += wi[j] * f.applyAsDouble(x[j]);
+                }
+            }
+
+            return sum;
+        }
+    }
+
+}
@@ -0,0 +1,180 @@
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A confusion matrix that can be updated by many threads at once as predictions are made.
+ * <p>
+ *     The classes are fixed when the accumulator is created and may be any set of integers. Each cell of the matrix is
+ *     a striped counter, so threads adding predictions at the same time rarely contend. Accumulators built on separate
+ *     shards of data can be merged together.
+ * </p>
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+public class ConfusionAccumulator {
+    private final int[] classes;
+    private final LongAdder[] counts;
+
+    /**
+     * Creates an empty accumulator for the classes provided.
+     *
+     * @param classes The classes that labels and predictions may take.
+     * @throws IllegalArgumentException If no classes are provided or a class is repeated.
+     */
+    public ConfusionAccumulator(int... classes) {
+        if (classes.length == 0) {
+            throw new IllegalArgumentException("At least one class must be provided!");
+        }
+
+        this.classes = classes.clone();
+        Arrays.sort(this.classes);
+        for (int i = 1; i < this.classes.length; i++) {
+            if (this.classes[i] == this.classes[i - 1]) {
+                throw new IllegalArgumentException("Class " + this.classes[i] + " was provided more than once!");
+            }
+        }
+
+        counts = new LongAdder[this.classes.length * this.classes.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Returns the classes of the accumulator in increasing order. Row and column i of a snapshot belong to class i of
+     * this array.
+     *
+     * @return The classes of the accumulator.
+     */
+    public int[] getClasses() {
+        return classes.clone();
+    }
+
+    /**
+     * Records a single prediction.
+     *
+     * @param actual The true class of the sample.
+     * @param predicted The predicted class of the sample.
+     * @throws IllegalArgumentException If either class is not one of the accumulator's classes.
+     */
+    public void add(int actual, int predicted) {
+        counts[indexOf(actual) * classes.length + indexOf(predicted)].increment();
+    }
+
+    /**
+     * Records a single prediction, rounding both values to the nearest class.
+     *
+     * @param actual The true class of the sample.
+     * @param predicted The predicted class of the sample.
+     * @throws IllegalArgumentException If either value is not finite or its rounded value is not one of the
+     *              accumulator's classes.
+     */
+    public void add(double actual, double predicted) {
+        add(toClass(actual), toClass(predicted));
+    }
+
+    /**
+     * Records a set of predictions, rounding every value to the nearest class.
+     *
+     * @param actual The true classes of the samples.
+     * @param predicted The predicted classes of the samples.
+     * @throws IllegalArgumentException If the data sets provided are not the same length.
+     * @throws IllegalArgumentException If a value is not finite or its rounded value is not one of the accumulator's
+     *              classes.
+     */
+    public void add(double[] actual, double[] predicted) {
+        if (actual.length != predicted.length) {
+            throw new IllegalArgumentException("The data sets must be the same length!");
+        }
+
+        for (int i = 0; i < actual.length; i++) {
+            add(actual[i], predicted[i]);
+        }
+    }
+
+    /**
+     * Adds the counts of another accumulator to this one. The other accumulator is not changed.
+     *
+     * @param other The accumulator whose counts will be added.
+     * @throws IllegalArgumentException If the accumulators do not have the same classes.
+     */
+    public void merge(ConfusionAccumulator other) {
+        if (!Arrays.equals(classes, other.classes)) {
+            throw new IllegalArgumentException("Only accumulators with the same classes can be merged!");
+        }
+
+        for (int i = 0; i < counts.length; i++) {
+            counts[i].add(other.counts[i].sum());
+        }
+    }
+
+    /**
+     * Returns the number of predictions recorded.
+     *
+     * @return The number of predictions recorded.
+     */
+    public long count() {
+        long sum = 0;
+        for (LongAdder c : counts) {
+            sum += c.sum();
+        }
+
+        return sum;
+    }
+
+    /**
+     * Creates a confusion matrix from the predictions recorded so far, with the actual classes as rows and the
+     * predicted classes as columns. Predictions recorded while the snapshot is being taken may or may not be
+     * included.
+     *
+     * @return The confusion matrix.
+     */
+    public Matrix snapshot() {
+        int k = classes.length;
+        double[][] CM = new double[k][k];
+
+        for (int i = 0; i < k; i++) {
+            for (int j = 0; j < k; j++) {
+                CM[i][j] = counts[i * k + j].sum();
+            }
+        }
+
+        return new Matrix(CM);
+    }
+
+    /**
+     * Removes every prediction recorded so far.
+     */
+    public void reset() {
+        for (LongAdder c : counts) {
+            c.reset();
+        }
+    }
+
+    //Finds the row or column of a class.
+    //Rounds a value to the nearest class. Math.round maps NaN to 0 and clamps values outside the range of a long, which
+    //would otherwise be counted as real classes.
+    private static int toClass(double value) {
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException("The class " + value + " is not finite!");
+        }
+        long cls = Math.round(value);
+        if (cls != (int) cls) {
+            throw new IllegalArgumentException("Class " + cls + " is not one of the accumulator's classes!");
+        }
+
+        return (int) cls;
+    }
+
+    private int indexOf(int cls) {
+        int i = Arrays.binarySearch(classes, cls);
+        if (i < 0) {
+            throw new IllegalArgumentException("Class " + cls + " is not one of the accumulator's classes!");
+        }
+
+        return i;
+    }
+
+}
@@ -0,0 +1,417 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * A static class that reads numeric csv files in parallel.
+ * <p>
+ *     The file is split into chunks that end on line boundaries, each chunk is memory mapped and parsed on its own
+ *     thread, and the rows are joined back together in file order. Numbers are parsed directly from the mapped bytes.
+ * </p>
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+public class CsvReader {
+
+    //The largest number of bytes that will be mapped for a single chunk, before extending it to the end of a line.
+    private static final long MAX_CHUNK_SIZE = 1L << 26;
+
+    //Exact powers of ten that can be represented by a double.
+    private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * Reads a csv file of samples into an array, using one thread per available processor.
+     *
+     * @param file The name of the csv file containing the raw data.
+     * @param class1 The string representation of the first class, which will be read as 0.
+     * @param class2 The string representation of the second class, which will be read as 1.
+     * @param skip The number of columns that should be skipped on the left before data collection begins.
+     * @param labelAtStart If the samples' label appears in the first column after those being skipped. If the
+     *              parameter is false, the last column will be treated as the label.
+     * @return An array containing one row for each sample in the file.
+     */
+    public static double[][] read(String file, String class1, String class2, int skip, boolean labelAtStart) {
+        return read(file, class1, class2, skip, labelAtStart, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Reads a csv file of samples into an array.
+     * <p>
+     *     If none of the columns read from the first line hold a number or a class, the line is treated as a header and
+     *     skipped. A first line with any such value is read as a sample, so a malformed first row is reported rather
+     *     than dropped. Blank lines are ignored.
+     * </p>
+     *
+     * @param file The name of the csv file containing the raw data.
+     * @param class1 The string representation of the first class, which will be read as 0.
+     * @param class2 The string representation of the second class, which will be read as 1.
+     * @param skip The number of columns that should be skipped on the left before data collection begins.
+     * @param labelAtStart If the samples' label appears in the first column after those being skipped. If the
+     *              parameter is false, the last column will be treated as the label.
+     * @param parallelism The number of threads used to parse the file.
+     * @return An array containing one row for each sample in the file.
+     * @throws IllegalArgumentException If skip is negative or parallelism is less than 1.
+     * @throws IllegalArgumentException If a value cannot be read as a number or the rows have different lengths.
+     * @throws UncheckedIOException If the file cannot be read.
+     */
+    public static double[][] read(String file, String class1, String class2, int skip, boolean labelAtStart, int parallelism) {
+        if (skip < 0) {
+            throw new IllegalArgumentException("Skip must not be negative!");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1!");
+        }
+
+        byte[] c1 = class1.getBytes(StandardCharsets.UTF_8);
+        byte[] c2 = class2.getBytes(StandardCharsets.UTF_8);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+        try (FileChannel channel = FileChannel.open(Paths.get(file), StandardOpenOption.READ)) {
+            long[] bounds = chunkBounds(channel, parallelism);
+            List<Callable<List<double[]>>> tasks = new ArrayList<>();
+
+            for (int i = 0; i < bounds.length - 1; i++) {
+                long start = bounds[i];
+                long end = bounds[i + 1];
+                boolean first = i == 0;
+                tasks.add(() -> parseChunk(channel.map(FileChannel.MapMode.READ_ONLY, start, end - start), c1, c2, skip, labelAtStart, first));
+            }
+
+            List<double[]> rows = new ArrayList<>();
+            for (Future<List<double[]>> chunk : pool.invokeAll(tasks)) {
+                rows.addAll(chunk.get());
+            }
+
+            double[][] data = rows.toArray(new double[0][]);
+            for (int i = 1; i < data.length; i++) {
+                if (data[i].length != data[0].length) {
+                    throw new IllegalArgumentException("Every row must have the same number of columns! Row " + (i + 1) + " has " + data[i].length + " columns and row 1 has " + data[0].length + " columns!");
+                }
+            }
+
+            return data;
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof IOException) {
+                throw new UncheckedIOException((IOException) e.getCause());
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading " + file + "!", e);
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    //Splits the file into chunks that each start at the beginning of a line.
+    private static long[] chunkBounds(FileChannel channel, int parallelism) throws IOException {
+        long size = channel.size();
+        long numChunks = Math.max(parallelism * 4L, (size + MAX_CHUNK_SIZE - 1) / MAX_CHUNK_SIZE);
+        long chunkSize = Math.max(1, size / numChunks);
+        List<Long> bounds = new ArrayList<>();
+        ByteBuffer window = ByteBuffer.allocate(8192);
+
+        bounds.add(0L);
+        long last = 0;
+        for (long k = 1; k < numChunks && k * chunkSize < size; k++) {
+            long pos = k * chunkSize;
+            if (pos <= last) {
+                continue;
+            }
+            long lineStart = nextLineStart(channel, pos - 1, size, window);
+            if (lineStart > last && lineStart < size) {
+                bounds.add(lineStart);
+                last = lineStart;
+            }
+        }
+        bounds.add(size);
+
+        long[] out = new long[bounds.size()];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = bounds.get(i);
+        }
+
+        return out;
+    }
+
+    //Finds the position just after the first line break at or after pos.
+    private static long nextLineStart(FileChannel channel, long pos, long size, ByteBuffer window) throws IOException {
+        while (pos < size) {
+            window.clear();
+            int read = channel.read(window, pos);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (window.get(i) == '\n') {
+                    return pos + i + 1;
+                }
+            }
+            pos += read;
+        }
+
+        return size;
+    }
+
+    //Parses every line in a chunk. Only the first line of the first chunk may be a header.
+    private static List<double[]> parseChunk(MappedByteBuffer buf, byte[] c1, byte[] c2, int skip, boolean labelAtStart, boolean first) {
+        List<double[]> rows = new ArrayList<>();
+        int[] starts = new int[16];
+        int[] ends = new int[16];
+        int limit = buf.limit();
+        int pos = 0;
+        boolean allowHeader = first;
+
+        while (pos < limit) {
+            int lineEnd = pos;
+            while (lineEnd < limit && buf.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+
+            //Finding the fields of the line
+            int numFields = 0;
+            int fieldStart = pos;
+            for (int i = pos; i <= lineEnd; i++) {
+                if (i == lineEnd || buf.get(i) == ',') {
+                    if (numFields == starts.length) {
+                        starts = grow(starts);
+                        ends = grow(ends);
+                    }
+                    starts[numFields] = fieldStart;
+                    ends[numFields] = i;
+                    numFields++;
+                    fieldStart = i + 1;
+                }
+            }
+
+            if (!isBlank(buf, pos, lineEnd)) {
+                try {
+                    rows.add(parseLine(buf, starts, ends, numFields, c1, c2, skip, labelAtStart));
+                }
+                catch (NumberFormatException e) {
+                    if (!allowHeader || !isHeader(buf, starts, ends, numFields, c1, c2, skip)) {
+                        throw new IllegalArgumentException("Could not read a value as a number! " + e.getMessage(), e);
+                    }
+                }
+                allowHeader = false;
+            }
+
+            pos = lineEnd + 1;
+        }
+
+        return rows;
+    }
+
+    //If none of the fields read from a line are a number or a class, so the line can only be a header.
+    private static boolean isHeader(ByteBuffer buf, int[] starts, int[] ends, int numFields, byte[] c1, byte[] c2, int skip) {
+        for (int f = skip; f < numFields; f++) {
+            int start = starts[f];
+            int end = ends[f];
+            while (start < end && isTrimmed(buf.get(start))) {
+                start++;
+            }
+            while (end > start && isTrimmed(buf.get(end - 1))) {
+                end--;
+            }
+
+            if (matches(buf, start, end, c1) || matches(buf, start, end, c2)) {
+                return false;
+            }
+            try {
+                parseNumber(buf, start, end);
+                return false;
+            }
+            catch (NumberFormatException e) {
+                //Not a number, as expected of a column name
+            }
+        }
+
+        return true;
+    }
+
+    //Parses the fields of a single line into a sample.
+    private static double[] parseLine(ByteBuffer buf, int[] starts, int[] ends, int numFields, byte[] c1, byte[] c2, int skip, boolean labelAtStart) {
+        if (numFields <= skip) {
+            throw new IllegalArgumentException("A row has " + numFields + " columns, but " + skip + " columns are skipped!");
+        }
+
+        int labelField = labelAtStart ? skip : numFields - 1;
+        double[] row = new double[numFields - skip];
+
+        for (int f = skip; f < numFields; f++) {
+            int start = starts[f];
+            int end = ends[f];
+
+            //Trimming whitespace and quotes
+            while (start < end && isTrimmed(buf.get(start))) {
+                start++;
+            }
+            while (end > start && isTrimmed(buf.get(end - 1))) {
+                end--;
+            }
+
+            if (f == labelField && matches(buf, start, end, c1)) {
+                row[f - skip] = 0;
+            }
+            else if (f == labelField && matches(buf, start, end, c2)) {
+                row[f - skip] = 1;
+            }
+            else {
+                row[f - skip] = parseNumber(buf, start, end);
+            }
+        }
+
+        return row;
+    }
+
+    //Parses a number from the bytes provided, falling back to Double.parseDouble when the result may not be exact.
+    private static double parseNumber(ByteBuffer buf, int start, int end) {
+        if (start == end) {
+            throw new NumberFormatException("Empty value");
+        }
+
+        int i = start;
+        boolean negative = false;
+        byte c = buf.get(i);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int exp = 0;
+        boolean seenDigit = false;
+
+        while (i < end && (c = buf.get(i)) >= '0' && c <= '9') {
+            if (digits < 18) {
+                mantissa = mantissa * 10 + (c - '0');
+                if (mantissa != 0) {
+                    digits++;
+                }
+            }
+            else {
+                exp++;
+            }
+            seenDigit = true;
+            i++;
+        }
+
+        if (i < end && buf.get(i) == '.') {
+            i++;
+            while (i < end && (c = buf.get(i)) >= '0' && c <= '9') {
+                if (digits < 18) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (mantissa != 0) {
+                        digits++;
+                    }
+                    exp--;
+                }
+                seenDigit = true;
+                i++;
+            }
+        }
+
+        if (seenDigit && i < end && ((c = buf.get(i)) == 'e' || c == 'E')) {
+            i++;
+            boolean negativeExp = false;
+            if (i < end && ((c = buf.get(i)) == '-' || c == '+')) {
+                negativeExp = c == '-';
+                i++;
+            }
+            int e = 0;
+            boolean seenExpDigit = false;
+            while (i < end && (c = buf.get(i)) >= '0' && c <= '9') {
+                if (e < 10000) {
+                    e = e * 10 + (c - '0');
+                }
+                seenExpDigit = true;
+                i++;
+            }
+            if (!seenExpDigit) {
+                return slowParse(buf, start, end);
+            }
+            exp += negativeExp ? -e : e;
+        }
+
+        //Only a product or quotient of two exact values is correctly rounded
+        if (!seenDigit || i != end || digits > 15 || exp < -22 || exp > 22) {
+            return slowParse(buf, start, end);
+        }
+
+        double value = exp >= 0 ? mantissa * POW10[exp] : mantissa / POW10[-exp];
+        return negative ? -value : value;
+    }
+
+    //Parses a number by creating a string from the bytes provided.
+    private static double slowParse(ByteBuffer buf, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buf.get(start + i);
+        }
+
+        return Double.parseDouble(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    //Computes if the bytes provided are the same as the class name provided.
+    private static boolean matches(ByteBuffer buf, int start, int end, byte[] name) {
+        if (end - start != name.length) {
+            return false;
+        }
+        for (int i = 0; i < name.length; i++) {
+            if (buf.get(start + i) != name[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    //Computes if a line only contains whitespace.
+    private static boolean isBlank(ByteBuffer buf, int start, int end) {
+        for (int i = start; i < end; i++) {
+            byte c = buf.get(i);
+            if (c != ' ' && c != '\t' && c != '\r') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isTrimmed(byte c) {
+        return c == ' ' || c == '\t' || c == '\r' || c == '"';
+    }
+
+    private static int[] grow(int[] arr) {
+        int[] bigger = new int[arr.length * 2];
+        System.arraycopy(arr, 0, bigger, 0, arr.length);
+        return bigger;
+    }
+
+}
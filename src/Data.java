@@ -15,7 +15,7 @@ public class Data {
     final static double TOL = 0.000001;
 
     //Computes if the provided value is "zero."
-    private static boolean isZero(double val) {
+    static boolean isZero(double val) {
         if (Math.abs(val) < TOL) {
             return true;
         }
@@ -44,26 +44,58 @@ public class Data {
      *             <li> The sample parameters to be used for testing</li>
      *             <li> The sample labels to be used for testing</li>
      *         </ul>
-     * @throws IllegalArgumentException If split is not a percentage.
+     * @throws IllegalArgumentException If split is not a percentage or the file contains no samples.
      */
     public static Matrix[] getBCData(String file, String class1, String class2, int skip, double split, boolean labelAtStart, boolean clean, boolean scale) {
+        return getBCData(file, class1, class2, skip, split, labelAtStart, clean ? new Imputer() : null, scale ? new Scaler(Scaler.Type.MIN_MAX) : null);
+    }
+
+    /**
+     * Creates binary classification data sets for model training and evaluation, fitting the preprocessing steps
+     * provided to the data so that they can be applied to later samples.
+     *
+     * @param file The name of the csv file containing the raw data.
+     * @param class1 The string representation of the first class.
+     * @param class2 The string representation of the second class.
+     * @param skip The number of columns that should be skipped on the left before data collection begins.
+     * @param split The percentage of data to be used for model training. 100% - split will be the percent of data used
+     *              for model testing.
+     * @param labelAtStart If the samples' label appears in the first column after those being skipped. If the
+     *              parameter is false, the data will be treated as if its last column contains the labels.
+     * @param imputer The imputer that will be fitted to and applied to the features, or null if the data should not be
+     *              cleaned.
+     * @param scaler The scaler that will be fitted to and applied to the features after cleaning, or null if the data
+     *              should not be scaled.
+     * @return An array of matrices containing:
+     *         <ul>
+     *             <li> The sample parameters to be used for training</li>
+     *             <li> The sample labels to be used for training</li>
+     *             <li> The sample parameters to be used for testing</li>
+     *             <li> The sample labels to be used for testing</li>
+     *         </ul>
+     * @throws IllegalArgumentException If split is not a percentage or the file contains no samples.
+     */
+    public static Matrix[] getBCData(String file, String class1, String class2, int skip, double split, boolean labelAtStart, Imputer imputer, Scaler scaler) {
         if (split < 0 || split > 100) {
             throw new IllegalArgumentException("Split must be between 0 and 100!");
         }
 
-        double[][] dataVals = ReadFile.csvToArray(file, class1, class2, skip);
-
-        if (clean) {
-            Matrix temp = new Matrix(dataVals);
-
-            clean(temp, labelAtStart);
+        double[][] dataVals = CsvReader.read(file, class1, class2, skip, labelAtStart);
+        if (dataVals.length == 0) {
+            throw new IllegalArgumentException(file + " contains no samples!");
+        }
 
-            dataVals = temp.getMatrix();
+        int start = labelAtStart ? 1 : 0;
+        int end = labelAtStart ? dataVals[0].length : dataVals[0].length - 1;
 
+        if (imputer != null) {
+            imputer.fit(dataVals, start, end);
+            imputer.transform(dataVals, start);
         }
 
-        if (scale) {
-            scaleFeatures(dataVals, labelAtStart);
+        if (scaler != null) {
+            scaler.fit(dataVals, start, end);
+            scaler.transform(dataVals, start);
         }
 
         int mid = (int) (dataVals.length * (split / 100.0));
@@ -100,60 +132,39 @@ public class Data {
         return new Matrix[]{xTrain, yTrain, xTest, yTest};
     }
 
-    //Sets the features with the value of 0 to the median value of that feature.
-    private static void clean(Matrix data, boolean labelAtStart) {
-        double mean;
-        int frontOffset = 0;
-        int backOffset = 0;
+    /**
+     * Loads a binary classification data set, fitting the preprocessing steps provided to its features. The data set
+     * can then be split into views for training and testing without copying it.
+     *
+     * @param file The name of the csv file containing the raw data.
+     * @param class1 The string representation of the first class.
+     * @param class2 The string representation of the second class.
+     * @param skip The number of columns that should be skipped on the left before data collection begins.
+     * @param labelAtStart If the samples' label appears in the first column after those being skipped. If the
+     *              parameter is false, the data will be treated as if its last column contains the labels.
+     * @param imputer The imputer that will be fitted to and applied to the features, or null if the data should not be
+     *              cleaned.
+     * @param scaler The scaler that will be fitted to and applied to the features after cleaning, or null if the data
+     *              should not be scaled.
+     * @return The data set.
+     */
+    public static Dataset getDataset(String file, String class1, String class2, int skip, boolean labelAtStart, Imputer imputer, Scaler scaler) {
+        double[][] dataVals = CsvReader.read(file, class1, class2, skip, labelAtStart);
+        int labelCol = labelAtStart || dataVals.length == 0 ? 0 : dataVals[0].length - 1;
+        Dataset data = Dataset.fromRows(dataVals, labelCol);
+        double[][] rows = data.rows();
 
-        if (labelAtStart) {
-            frontOffset = 1;
-        }
-        else {
-            backOffset = 1;
+        if (imputer != null) {
+            imputer.fit(rows);
+            imputer.transform(rows);
         }
-        //Finding the median of the column
-        for (int i = 1 + frontOffset; i <= data.getCols() - backOffset; i++) {
-            mean = Stat.mean(data.getCol(i));
-            for (int j = 1; j <= data.getRows(); j++) {
-                if (isZero(data.getValue(j, i))) {
-                    data.setValue(j, i, mean);
-                }
-            }
-        }
-    }
 
-    private static void scaleFeatures(double[][] data, boolean labelAtStart) {
-        double min;
-        double max;
-        int frontOffset = 0;
-        int backOffset = 0;
-
-        if (labelAtStart) {
-            frontOffset = 1;
-        }
-        else {
-            backOffset = 1;
+        if (scaler != null) {
+            scaler.fit(rows);
+            scaler.transform(rows);
         }
 
-        for (int i = frontOffset; i < data[0].length - backOffset; i++) {
-            min = 0.0;
-            max = 0.0;
-            //Finding max and min
-            for (int j = 0; j < data.length; j++) {
-                if (data[j][i] > max) {
-                    max = data[j][i];
-                }
-                if (data[j][i] < min) {
-                    min = data[j][i];
-                }
-            }
-
-            //Scaling that feature's data
-            for (int j = 0; j < data.length; j++) {
-                data[j][i] = (data[j][i] - min) / (max - min);
-            }
-        }
+        return data;
     }
 
     //Standardizes x data to have a mean of zero and standard deviation of 0.
@@ -0,0 +1,354 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A set of samples and their labels.
+ * <p>
+ *     The features and labels are stored once. Splitting a data set, whether in order, shuffled, stratified or into
+ *     k folds, creates views that only hold the indices of their samples, so a split costs one int per sample instead
+ *     of a second copy of the data.
+ * </p>
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+public class Dataset {
+    private final double[][] features;
+    private final double[] labels;
+    private final int[] indices;
+
+    /**
+     * Creates a data set from the features and labels provided. The arrays are used directly, not copied.
+     *
+     * @param features The parameter values for a set of samples, one sample per row.
+     * @param labels The label of each sample.
+     * @throws IllegalArgumentException If each sample does not have a label.
+     */
+    public Dataset(double[][] features, double[] labels) {
+        if (features.length != labels.length) {
+            throw new IllegalArgumentException("The data does not have one sample for each label! There are " + features.length + " samples and " + labels.length + " labels!");
+        }
+
+        this.features = features;
+        this.labels = labels;
+        this.indices = null;
+    }
+
+    //Creates a view of the samples at the indices provided.
+    private Dataset(double[][] features, double[] labels, int[] indices) {
+        this.features = features;
+        this.labels = labels;
+        this.indices = indices;
+    }
+
+    /**
+     * Creates a data set from rows that contain both the features and the label of each sample. The features are
+     * copied into new rows without the label, so the data provided is not changed.
+     *
+     * @param data The data set, one sample per row.
+     * @param labelCol The column containing the labels, starting at 0.
+     * @return The data set.
+     * @throws IllegalArgumentException If the label column is not a column of the data.
+     */
+    public static Dataset fromRows(double[][] data, int labelCol) {
+        double[][] features = new double[data.length][];
+        double[] labels = new double[data.length];
+
+        for (int i = 0; i < data.length; i++) {
+            double[] row = data[i];
+            if (labelCol < 0 || labelCol >= row.length) {
+                throw new IllegalArgumentException("The label column must be a column of the data!");
+            }
+
+            double[] sample = new double[row.length - 1];
+            System.arraycopy(row, 0, sample, 0, labelCol);
+            System.arraycopy(row, labelCol + 1, sample, labelCol, row.length - labelCol - 1);
+            labels[i] = row[labelCol];
+            features[i] = sample;
+        }
+
+        return new Dataset(features, labels);
+    }
+
+    /**
+     * Returns the number of samples in the data set.
+     *
+     * @return The number of samples in the data set.
+     */
+    public int size() {
+        return indices == null ? features.length : indices.length;
+    }
+
+    /**
+     * Returns the number of features of each sample.
+     *
+     * @return The number of features of each sample.
+     */
+    public int getNumFeatures() {
+        return features.length == 0 ? 0 : features[0].length;
+    }
+
+    /**
+     * Returns the features of a sample. The array is shared with the data set and should not be modified.
+     *
+     * @param i The index of the sample, starting at 0.
+     * @return The features of the sample.
+     */
+    public double[] getFeatures(int i) {
+        return features[index(i)];
+    }
+
+    /**
+     * Returns the label of a sample.
+     *
+     * @param i The index of the sample, starting at 0.
+     * @return The label of the sample.
+     */
+    public double getLabel(int i) {
+        return labels[index(i)];
+    }
+
+    /**
+     * Returns the rows of the samples in the data set. The rows are shared with the data set, only the array that
+     * holds them is new.
+     *
+     * @return The features of the samples, one sample per row.
+     */
+    public double[][] rows() {
+        if (indices == null) {
+            return features.clone();
+        }
+
+        double[][] rows = new double[indices.length][];
+        for (int i = 0; i < indices.length; i++) {
+            rows[i] = features[indices[i]];
+        }
+
+        return rows;
+    }
+
+    /**
+     * Returns the labels of the samples in the data set.
+     *
+     * @return The labels of the samples.
+     */
+    public double[] labels() {
+        if (indices == null) {
+            return labels.clone();
+        }
+
+        double[] out = new double[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            out[i] = labels[indices[i]];
+        }
+
+        return out;
+    }
+
+    /**
+     * Creates a view of the data set with the samples in a random order.
+     *
+     * @param seed The seed used to shuffle the samples.
+     * @return The shuffled view.
+     */
+    public Dataset shuffle(long seed) {
+        int[] order = allIndices();
+        shuffle(order, new Random(seed));
+        return new Dataset(features, labels, order);
+    }
+
+    /**
+     * Splits the data set in order, using the first part for training and the rest for testing.
+     *
+     * @param split The percentage of data to be used for training.
+     * @return An array containing the training view and then the testing view.
+     * @throws IllegalArgumentException If split is not a percentage.
+     */
+    public Dataset[] split(double split) {
+        checkSplit(split);
+        int[] order = allIndices();
+        int mid = (int) (order.length * (split / 100.0));
+
+        return new Dataset[]{
+                new Dataset(features, labels, Arrays.copyOfRange(order, 0, mid)),
+                new Dataset(features, labels, Arrays.copyOfRange(order, mid, order.length))
+        };
+    }
+
+    /**
+     * Shuffles the data set and then splits it, using the first part for training and the rest for testing.
+     *
+     * @param split The percentage of data to be used for training.
+     * @param seed The seed used to shuffle the samples.
+     * @return An array containing the training view and then the testing view.
+     * @throws IllegalArgumentException If split is not a percentage.
+     */
+    public Dataset[] shuffleSplit(double split, long seed) {
+        checkSplit(split);
+        return shuffle(seed).split(split);
+    }
+
+    /**
+     * Splits the data set so that the training and testing views each have the same proportion of every class as the
+     * whole data set. Labels are rounded to the nearest class.
+     *
+     * @param split The percentage of each class to be used for training.
+     * @param seed The seed used to shuffle the samples.
+     * @return An array containing the training view and then the testing view.
+     * @throws IllegalArgumentException If split is not a percentage.
+     */
+    public Dataset[] stratifiedSplit(double split, long seed) {
+        checkSplit(split);
+        Random random = new Random(seed);
+        int[][] byClass = indicesByClass(random);
+        int numTrain = 0;
+
+        for (int[] cls : byClass) {
+            numTrain += (int) (cls.length * (split / 100.0));
+        }
+
+        int[] train = new int[numTrain];
+        int[] test = new int[size() - numTrain];
+        int t = 0;
+        int u = 0;
+        for (int[] cls : byClass) {
+            int mid = (int) (cls.length * (split / 100.0));
+            System.arraycopy(cls, 0, train, t, mid);
+            System.arraycopy(cls, mid, test, u, cls.length - mid);
+            t += mid;
+            u += cls.length - mid;
+        }
+
+        //Mixing the classes back together
+        shuffle(train, random);
+        shuffle(test, random);
+
+        return new Dataset[]{new Dataset(features, labels, train), new Dataset(features, labels, test)};
+    }
+
+    /**
+     * Splits the data set into k folds for cross validation. Each fold is used for testing once, while the other
+     * folds are used for training.
+     *
+     * @param k The number of folds.
+     * @param seed The seed used to shuffle the samples.
+     * @param stratified If each fold should have the same proportion of every class as the whole data set.
+     * @return An array with one entry per fold, each containing the training view and then the testing view.
+     * @throws IllegalArgumentException If k is less than 2 or greater than the number of samples.
+     */
+    public Dataset[][] kFold(int k, long seed, boolean stratified) {
+        if (k < 2 || k > size()) {
+            throw new IllegalArgumentException("The number of folds must be at least 2 and at most the number of samples!");
+        }
+
+        Random random = new Random(seed);
+        int[] order;
+        if (stratified) {
+            //Dealing the samples of each class out in turn keeps the class proportions in every fold
+            order = new int[size()];
+            int o = 0;
+            for (int[] cls : indicesByClass(random)) {
+                System.arraycopy(cls, 0, order, o, cls.length);
+                o += cls.length;
+            }
+        }
+        else {
+            order = allIndices();
+            shuffle(order, random);
+        }
+
+        int[] foldSize = new int[k];
+        for (int i = 0; i < order.length; i++) {
+            foldSize[i % k]++;
+        }
+
+        int[][] tests = new int[k][];
+        for (int f = 0; f < k; f++) {
+            tests[f] = new int[foldSize[f]];
+        }
+        for (int i = 0; i < order.length; i++) {
+            tests[i % k][i / k] = order[i];
+        }
+
+        Dataset[][] folds = new Dataset[k][];
+        for (int f = 0; f < k; f++) {
+            int[] train = new int[order.length - tests[f].length];
+            int t = 0;
+            for (int g = 0; g < k; g++) {
+                if (g != f) {
+                    System.arraycopy(tests[g], 0, train, t, tests[g].length);
+                    t += tests[g].length;
+                }
+            }
+            folds[f] = new Dataset[]{new Dataset(features, labels, train), new Dataset(features, labels, tests[f])};
+        }
+
+        return folds;
+    }
+
+    //Maps an index of the view to an index of the underlying arrays.
+    private int index(int i) {
+        return indices == null ? i : indices[i];
+    }
+
+    //The indices of every sample of the view in the underlying arrays.
+    private int[] allIndices() {
+        if (indices != null) {
+            return indices.clone();
+        }
+
+        int[] order = new int[features.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+
+        return order;
+    }
+
+    //Shuffles the view's samples and groups them by class, with the classes in increasing order.
+    private int[][] indicesByClass(Random random) {
+        int[] order = allIndices();
+        shuffle(order, random);
+
+        long[] classes = new long[order.length];
+        for (int i = 0; i < order.length; i++) {
+            classes[i] = Math.round(labels[order[i]]);
+        }
+        long[] distinct = Arrays.stream(classes).sorted().distinct().toArray();
+
+        int[] counts = new int[distinct.length];
+        for (long cls : classes) {
+            counts[Arrays.binarySearch(distinct, cls)]++;
+        }
+
+        int[][] byClass = new int[distinct.length][];
+        for (int c = 0; c < distinct.length; c++) {
+            byClass[c] = new int[counts[c]];
+            counts[c] = 0;
+        }
+        for (int i = 0; i < order.length; i++) {
+            int c = Arrays.binarySearch(distinct, classes[i]);
+            byClass[c][counts[c]++] = order[i];
+        }
+
+        return byClass;
+    }
+
+    //Fisher-Yates shuffle
+    private static void shuffle(int[] order, Random random) {
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int temp = order[i];
+            order[i] = order[j];
+            order[j] = temp;
+        }
+    }
+
+    private static void checkSplit(double split) {
+        if (split < 0 || split > 100) {
+            throw new IllegalArgumentException("Split must be between 0 and 100!");
+        }
+    }
+
+}
@@ -0,0 +1,174 @@
+/**
+ * A comparison of a reduced-precision scorer with the full-precision model it was made from.
+ * <p>
+ *     Both scorers are applied to the same labeled samples once. The accuracy of each, at a threshold of 0.5, comes
+ *     from {@link Metrics#confusionMatrix(Matrix, Matrix)} and {@link Metrics#accuracy(Matrix)}, and the AUC of each
+ *     from {@link Metrics#getExactAUC(double[], double[])}. The drifts are the reduced scorer's value minus the
+ *     reference's, so a negative drift is a loss. The report also counts the samples whose predicted class changed and
+ *     measures how far the probabilities moved.
+ * </p>
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+public class DriftReport {
+    private final double referenceAccuracy;
+    private final double reducedAccuracy;
+    private final double referenceAUC;
+    private final double reducedAUC;
+    private final double maxDifference;
+    private final double meanDifference;
+    private final int flipped;
+    private final int size;
+
+    /**
+     * Creates a drift report by scoring a set of samples with both scorers.
+     *
+     * @param reference The full-precision scorer, such as one from {@link Model#compile()}.
+     * @param reduced The reduced-precision scorer, such as a {@link Float32Scorer} or an {@link Int8Scorer}.
+     * @param X The parameter values for a set of samples, one sample per row.
+     * @param y The labels of the samples, either 0 or 1.
+     * @throws IllegalArgumentException If there is not one label for each sample.
+     * @throws IllegalArgumentException If there are no samples.
+     */
+    public DriftReport(Scorer reference, Scorer reduced, double[][] X, double[] y) {
+        if (X.length != y.length) {
+            throw new IllegalArgumentException("There must be one label for each sample!");
+        }
+        if (X.length == 0) {
+            throw new IllegalArgumentException("There must be at least one sample!");
+        }
+
+        double[] exact = new double[X.length];
+        double[] approx = new double[X.length];
+        reference.score(X, exact);
+        reduced.score(X, approx);
+
+        double max = 0.0;
+        double sum = 0.0;
+        int changed = 0;
+        for (int i = 0; i < X.length; i++) {
+            double diff = Math.abs(exact[i] - approx[i]);
+            max = Math.max(max, diff);
+            sum += diff;
+            if (Math.round(exact[i]) != Math.round(approx[i])) {
+                changed++;
+            }
+        }
+
+        Matrix labels = new Matrix(y);
+        referenceAccuracy = Metrics.accuracy(Metrics.confusionMatrix(labels, new Matrix(exact)));
+        reducedAccuracy = Metrics.accuracy(Metrics.confusionMatrix(labels, new Matrix(approx)));
+        referenceAUC = Metrics.getExactAUC(y, exact);
+        reducedAUC = Metrics.getExactAUC(y, approx);
+        maxDifference = max;
+        meanDifference = sum / X.length;
+        flipped = changed;
+        size = X.length;
+    }
+
+    /**
+     * Returns the accuracy of the full-precision scorer.
+     *
+     * @return The reference accuracy.
+     */
+    public double getReferenceAccuracy() {
+        return referenceAccuracy;
+    }
+
+    /**
+     * Returns the accuracy of the reduced-precision scorer.
+     *
+     * @return The reduced accuracy.
+     */
+    public double getReducedAccuracy() {
+        return reducedAccuracy;
+    }
+
+    /**
+     * Returns the change in accuracy caused by the reduced precision.
+     *
+     * @return The reduced accuracy minus the reference accuracy.
+     */
+    public double getAccuracyDrift() {
+        return reducedAccuracy - referenceAccuracy;
+    }
+
+    /**
+     * Returns the area under the ROC curve of the full-precision scorer.
+     *
+     * @return The reference AUC.
+     */
+    public double getReferenceAUC() {
+        return referenceAUC;
+    }
+
+    /**
+     * Returns the area under the ROC curve of the reduced-precision scorer.
+     *
+     * @return The reduced AUC.
+     */
+    public double getReducedAUC() {
+        return reducedAUC;
+    }
+
+    /**
+     * Returns the change in AUC caused by the reduced precision.
+     *
+     * @return The reduced AUC minus the reference AUC.
+     */
+    public double getAUCDrift() {
+        return reducedAUC - referenceAUC;
+    }
+
+    /**
+     * Returns the largest difference between the probabilities predicted by the two scorers.
+     *
+     * @return The largest absolute difference in probability.
+     */
+    public double getMaxDifference() {
+        return maxDifference;
+    }
+
+    /**
+     * Returns the mean difference between the probabilities predicted by the two scorers.
+     *
+     * @return The mean absolute difference in probability.
+     */
+    public double getMeanDifference() {
+        return meanDifference;
+    }
+
+    /**
+     * Returns the number of samples whose predicted class differs between the two scorers.
+     *
+     * @return The number of flipped predictions.
+     */
+    public int getFlipped() {
+        return flipped;
+    }
+
+    /**
+     * Prints the drift report.
+     */
+    public void print() {
+        System.out.println(this);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("Drift Report\n").append("------------\n");
+        sb.append("\t\t\tReference\tReduced\t\tDrift\n");
+        sb.append(String.format("Accuracy\t%.6f\t%.6f\t%+.6f%n", referenceAccuracy, reducedAccuracy, getAccuracyDrift()));
+        sb.append(String.format("AUC\t\t\t%.6f\t%.6f\t%+.6f%n", referenceAUC, reducedAUC, getAUCDrift()));
+        sb.append("\nMax probability difference: ").append(maxDifference).append("\n");
+        sb.append("Mean probability difference: ").append(meanDifference).append("\n");
+        sb.append("Flipped predictions: ").append(flipped).append(" of ").append(size).append("\n");
+
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,125 @@
+/**
+ * The conditions under which an iterative solver should stop before it has used all of its iterations or epochs.
+ * <p>
+ *     Training can stop once the change in the training loss or the norm of the gradient falls below a tolerance, or
+ *     once the loss on a held-out validation set has not improved for a number of iterations in a row. When validation
+ *     stops training, the weights with the lowest validation loss can be restored. A tolerance of 0 disables that
+ *     check. Stopping is applied by the solvers that report their progress each iteration, such as {@link SGDSolver}
+ *     and {@link ParallelGradientSolver}.
+ * </p>
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+public class EarlyStopping {
+
+    /**
+     * The loss used to score the weights on the validation set.
+     */
+    public enum Metric {
+        LOG_LOSS,
+        MEAN_SQUARED
+    }
+
+    private final double lossTolerance;
+    private final double gradientTolerance;
+    private final Dataset validation;
+    private final Metric metric;
+    private final int patience;
+    private final boolean restoreBest;
+
+    /**
+     * Creates stopping conditions that only use the training loss and gradient.
+     *
+     * @param lossTolerance The change in the training loss between iterations below which training stops.
+     * @param gradientTolerance The norm of the gradient below which training stops.
+     * @throws IllegalArgumentException If a tolerance is negative.
+     */
+    public EarlyStopping(double lossTolerance, double gradientTolerance) {
+        this(lossTolerance, gradientTolerance, null, Metric.LOG_LOSS, 1, false);
+    }
+
+    /**
+     * Creates stopping conditions that use the training loss and gradient as well as a held-out validation set.
+     *
+     * @param lossTolerance The change in the training loss between iterations below which training stops.
+     * @param gradientTolerance The norm of the gradient below which training stops.
+     * @param validation The samples used to decide when training stops improving the model. They should not be used
+     *                   for training.
+     * @param metric The loss used to score the weights on the validation set.
+     * @param patience The number of iterations in a row the validation loss may fail to improve before training stops.
+     * @param restoreBest If the weights with the lowest validation loss should be kept once training stops.
+     * @throws IllegalArgumentException If a tolerance is negative or the patience is less than 1.
+     */
+    public EarlyStopping(double lossTolerance, double gradientTolerance, Dataset validation, Metric metric, int patience, boolean restoreBest) {
+        if (lossTolerance < 0 || gradientTolerance < 0) {
+            throw new IllegalArgumentException("Tolerances must not be negative!");
+        }
+        if (patience < 1) {
+            throw new IllegalArgumentException("Patience must be at least 1!");
+        }
+
+        this.lossTolerance = lossTolerance;
+        this.gradientTolerance = gradientTolerance;
+        this.validation = validation;
+        this.metric = metric;
+        this.patience = patience;
+        this.restoreBest = restoreBest;
+    }
+
+    /**
+     * Returns the change in the training loss between iterations below which training stops.
+     *
+     * @return The loss tolerance.
+     */
+    public double getLossTolerance() {
+        return lossTolerance;
+    }
+
+    /**
+     * Returns the norm of the gradient below which training stops.
+     *
+     * @return The gradient tolerance.
+     */
+    public double getGradientTolerance() {
+        return gradientTolerance;
+    }
+
+    /**
+     * Returns the samples used to decide when training stops improving the model.
+     *
+     * @return The validation set, or null if none is used.
+     */
+    public Dataset getValidation() {
+        return validation;
+    }
+
+    /**
+     * Returns the loss used to score the weights on the validation set.
+     *
+     * @return The validation metric.
+     */
+    public Metric getMetric() {
+        return metric;
+    }
+
+    /**
+     * Returns the number of iterations in a row the validation loss may fail to improve before training stops.
+     *
+     * @return The patience.
+     */
+    public int getPatience() {
+        return patience;
+    }
+
+    /**
+     * Returns if the weights with the lowest validation loss are kept once training stops.
+     *
+     * @return If the best weights are restored.
+     */
+    public boolean isRestoreBest() {
+        return restoreBest;
+    }
+
+}
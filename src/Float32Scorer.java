@@ -0,0 +1,138 @@
+/**
+ * A scorer for a logistic regression model that stores its weights, and reads samples, as 32-bit floats.
+ * <p>
+ *     Scoring a large batch is limited by how fast the samples can be read from memory rather than by arithmetic, so
+ *     storing the samples as floats with {@link #encode(double[][])} halves the bytes read per sample, and a SIMD
+ *     register holds twice as many of them. The error comes from rounding each weight and feature to a float, a
+ *     relative error of at most 6e-8 each, and from summing a linear model in single precision on the SIMD backend.
+ *     Use {@link DriftReport} to measure the effect on a data set.
+ * </p>
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+public final class Float32Scorer implements Scorer {
+    private static final VectorOps OPS = VectorOps.get();
+
+    private final float biasWeight;
+    private final BasisFunction bias;
+    private final float[][] w;
+    private final BasisFunction[] fncs;
+    private final boolean linear;
+    private final int numFeatures;
+    private final CompiledExpansion.Link link;
+
+    //Rounds a copy of the weights to floats, with the weights of each basis function stored together.
+    Float32Scorer(double[] w, BasisFunction[] fncs, CompiledExpansion.Link link) {
+        int m = fncs.length - 1;
+        numFeatures = m == 0 ? -1 : (w.length - 1) / m;
+        this.w = new float[m][Math.max(numFeatures, 0)];
+        for (int j = 0; j < numFeatures; j++) {
+            for (int i = 0; i < m; i++) {
+                this.w[i][j] = (float) w[j * m + 1 + i];
+            }
+        }
+
+        biasWeight = (float) w[0];
+        bias = fncs[0];
+        this.fncs = new BasisFunction[m];
+        System.arraycopy(fncs, 1, this.fncs, 0, m);
+        linear = m == 1 && fncs[1] == BasisFunctions.IDENTITY;
+        this.link = link;
+    }
+
+    /**
+     * Rounds a sample to floats.
+     *
+     * @param sample The parameter values of a single sample.
+     * @return The sample as floats.
+     */
+    public static float[] encode(double[] sample) {
+        float[] x = new float[sample.length];
+        for (int j = 0; j < sample.length; j++) {
+            x[j] = (float) sample[j];
+        }
+
+        return x;
+    }
+
+    /**
+     * Rounds a set of samples to floats.
+     *
+     * @param samples The parameter values for a set of samples, one sample per row.
+     * @return The samples as floats, one sample per row.
+     */
+    public static float[][] encode(double[][] samples) {
+        float[][] X = new float[samples.length][];
+        for (int i = 0; i < samples.length; i++) {
+            X[i] = encode(samples[i]);
+        }
+
+        return X;
+    }
+
+    /**
+     * Returns the number of features the model was trained on.
+     *
+     * @return The number of features, or -1 if the model only has a bias.
+     */
+    public int getNumFeatures() {
+        return numFeatures;
+    }
+
+    /**
+     * {@inheritDoc} The sample is rounded to floats first.
+     */
+    @Override
+    public double score(double[] sample) {
+        return score(encode(sample));
+    }
+
+    /**
+     * Scores a single sample stored as floats.
+     *
+     * @param sample The parameter values of a single sample.
+     * @return The probability that the sample is in class 1.
+     * @throws IllegalArgumentException If the sample does not have the number of features the model was trained on.
+     */
+    public double score(float[] sample) {
+        if (numFeatures >= 0 && sample.length != numFeatures) {
+            throw new IllegalArgumentException("The sample does not have the number of features the model was trained on!");
+        }
+
+        double sum = biasWeight * bias.applyAsDouble(sample[0]);
+        if (linear) {
+            return link.apply(sum + OPS.dot(sample, 0, w[0], 0, numFeatures));
+        }
+
+        for (int i = 0; i < fncs.length; i++) {
+            float[] wi = w[i];
+            BasisFunction f = fncs[i];
+            for (int j = 0; j < numFeatures; j++) {
+                sum += wi[j] * f.applyAsDouble(sample[j]);
+            }
+        }
+
+        return link.apply(sum);
+    }
+
+    /**
+     * Scores a set of samples stored as floats and writes the probabilities to the array provided.
+     *
+     * @param samples The parameter values for a set of samples, one sample per row.
+     * @param out The array the probabilities will be written to.
+     * @throws IllegalArgumentException If the output array does not have one entry for each sample.
+     * @throws IllegalArgumentException If a sample does not have the number of features the model was trained on.
+     */
+    public void score(float[][] samples, double[] out) {
+        if (out.length != samples.length) {
+            throw new IllegalArgumentException("The output must have one entry for each sample! There are " + samples.length + " samples and " + out.length + " entries!");
+        }
+
+        for (int i = 0; i < samples.length; i++) {
+            out[i] = score(samples[i]);
+        }
+    }
+
+}
@@ -0,0 +1,82 @@
+/**
+ * An approximate count of how often each key has been seen recently, in a fixed amount of memory.
+ * <p>
+ *     The sketch is a count-min sketch with four hashes into one table of 4-bit counters, packed two to a byte. A
+ *     key's frequency is the smallest of its four counters, which can only overestimate it. Once as many increments
+ *     as ten times the table's intended number of keys have been made, every counter is halved, so keys that were
+ *     popular long ago fade out. This is the admission filter of TinyLFU. The sketch is not thread-safe.
+ * </p>
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+final class FrequencySketch {
+    private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+    private static final int MAX_COUNT = 15;
+
+    //Counter t is the low half of byte t / 2 if t is even, and the high half if it is odd
+    private final byte[] counts;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    //Creates a sketch sized for about the number of keys provided.
+    FrequencySketch(int keys) {
+        int width = Integer.highestOneBit(Math.max(16, Math.min(keys, 1 << 26)) - 1) << 1;
+        counts = new byte[width / 2];
+        mask = width - 1;
+        sampleSize = 10 * Math.max(keys, 1);
+    }
+
+    //Records one occurrence of the key with the hash provided.
+    void increment(int hash) {
+        for (int i = 0; i < SEEDS.length; i++) {
+            int t = index(hash, i);
+            if (count(t) < MAX_COUNT) {
+                counts[t >>> 1] += (byte) (1 << shift(t));
+            }
+        }
+
+        //Every increment counts toward aging, even if its counters were saturated, so a full table still ages
+        if (++additions == sampleSize) {
+            age();
+        }
+    }
+
+    //Estimates the number of recent occurrences of the key with the hash provided.
+    int frequency(int hash) {
+        int min = MAX_COUNT;
+        for (int i = 0; i < SEEDS.length; i++) {
+            min = Math.min(min, count(index(hash, i)));
+        }
+
+        return min;
+    }
+
+    //Halves every counter.
+    private void age() {
+        for (int b = 0; b < counts.length; b++) {
+            //Shifting the whole byte, then clearing the bit each high counter moved into its low neighbour
+            counts[b] = (byte) (((counts[b] & 0xFF) >>> 1) & 0x77);
+        }
+        additions /= 2;
+    }
+
+    //The value of a counter.
+    private int count(int t) {
+        return ((counts[t >>> 1] & 0xFF) >>> shift(t)) & MAX_COUNT;
+    }
+
+    //The position of a counter within its byte.
+    private static int shift(int t) {
+        return (t & 1) << 2;
+    }
+
+    //The counter used for the key by the i-th hash.
+    private int index(int hash, int i) {
+        int h = (hash ^ SEEDS[i]) * SEEDS[i];
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+}
@@ -0,0 +1,260 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Compares candidate models by k-fold cross validation on a single data set.
+ * <p>
+ *     The data is loaded once by the caller, and the folds are views of it, so no sample is parsed or copied again. The
+ *     data should not be imputed or scaled beforehand, since statistics fitted over every sample would let each fold's
+ *     testing samples leak into its training. Preprocessing steps given to {@link #setPreprocessing(Supplier[])} are
+ *     instead fitted on each fold's training view alone, and applied to copies of both of its views. Every combination of fold and candidate is trained and evaluated as its own task on a pool with a
+ *     fixed number of threads. Each task creates a fresh model from its candidate's factory, so the factories should
+ *     return models with a parallelism of 1 to keep the number of busy threads bounded. The results are ranked best first
+ *     by mean AUC, or by mean accuracy if any candidate has no AUC, so every candidate is ranked by the same metric.
+ * </p>
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+public class HyperparameterSearch {
+    private final Dataset data;
+    private final int k;
+    private final long seed;
+    private final boolean stratified;
+    private final int parallelism;
+    private final List<String> names = new ArrayList<>();
+    private final List<Supplier<? extends Model>> factories = new ArrayList<>();
+    private final List<Supplier<? extends Transformer>> preprocessing = new ArrayList<>();
+
+    /**
+     * Creates a search over stratified folds that uses every available processor.
+     *
+     * @param data The samples and labels the candidates are compared on.
+     * @param k The number of folds.
+     * @param seed The seed used to assign the samples to folds.
+     * @throws IllegalArgumentException If k is less than 2 or greater than the number of samples.
+     */
+    public HyperparameterSearch(Dataset data, int k, long seed) {
+        this(data, k, seed, true, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a search.
+     *
+     * @param data The samples and labels the candidates are compared on.
+     * @param k The number of folds.
+     * @param seed The seed used to assign the samples to folds.
+     * @param stratified If each fold should have the same proportion of every class as the whole data set.
+     * @param parallelism The number of threads that train and evaluate candidates.
+     * @throws IllegalArgumentException If k is less than 2 or greater than the number of samples.
+     * @throws IllegalArgumentException If the parallelism is less than 1.
+     */
+    public HyperparameterSearch(Dataset data, int k, long seed, boolean stratified, int parallelism) {
+        if (k < 2 || k > data.size()) {
+            throw new IllegalArgumentException("The number of folds must be at least 2 and at most the number of samples!");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1!");
+        }
+
+        this.data = data;
+        this.k = k;
+        this.seed = seed;
+        this.stratified = stratified;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Adds a candidate to the search.
+     *
+     * @param name The name the candidate is reported under.
+     * @param factory Creates a new, untrained model with the candidate's settings each time it is called.
+     */
+    public void addCandidate(String name, Supplier<? extends Model> factory) {
+        names.add(name);
+        factories.add(factory);
+    }
+
+    /**
+     * Adds a {@link LogRegClassifier} candidate for every combination of learning rate and set of basis functions.
+     *
+     * @param learningRates The learning rates to try.
+     * @param basisSets The sets of basis functions to try.
+     */
+    @SafeVarargs
+    public final void addGrid(double[] learningRates, Function<Double, Double>[]... basisSets) {
+        for (int s = 0; s < basisSets.length; s++) {
+            Function<Double, Double>[] fncs = basisSets[s];
+            String basis = describe(fncs, s);
+            for (double learningRate : learningRates) {
+                addCandidate("learningRate=" + learningRate + ", basis=" + basis, () -> new LogRegClassifier(learningRate, fncs));
+            }
+        }
+    }
+
+    /**
+     * Sets the preprocessing steps fitted on the training view of every fold, replacing any set before.
+     *
+     * @param steps Each creates a new, unfitted preprocessing step each time it is called, in the order the steps
+     *              are applied.
+     */
+    @SafeVarargs
+    public final void setPreprocessing(Supplier<? extends Transformer>... steps) {
+        preprocessing.clear();
+        preprocessing.addAll(Arrays.asList(steps));
+    }
+
+    /**
+     * Returns the number of candidates in the search.
+     *
+     * @return The number of candidates.
+     */
+    public int getNumCandidates() {
+        return factories.size();
+    }
+
+    /**
+     * Trains and evaluates every candidate on every fold.
+     *
+     * @return The result of each candidate, best first.
+     * @throws IllegalStateException If there are no candidates, or if the search is interrupted.
+     */
+    public List<SearchResult> run() {
+        if (factories.isEmpty()) {
+            throw new IllegalStateException("There are no candidates to search!");
+        }
+
+        int n = factories.size();
+        Dataset[][] folds = data.kFold(k, seed, stratified);
+        if (!preprocessing.isEmpty()) {
+            for (int f = 0; f < k; f++) {
+                folds[f] = preprocess(folds[f][0], folds[f][1]);
+            }
+        }
+        double[][] accuracy = new double[n][k];
+        double[][] auc = new double[n][k];
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int c = 0; c < n; c++) {
+            for (int f = 0; f < k; f++) {
+                int candidate = c;
+                int fold = f;
+                tasks.add(() -> {
+                    ClassificationReport report = evaluate(factories.get(candidate).get(), folds[fold][0], folds[fold][1]);
+                    accuracy[candidate][fold] = report.getAccuracy();
+                    auc[candidate][fold] = report.getAUC();
+                    return null;
+                });
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (Future<Void> task : pool.invokeAll(tasks)) {
+                task.get();
+            }
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while searching!", e);
+        }
+        finally {
+            pool.shutdown();
+        }
+
+        List<SearchResult> results = new ArrayList<>();
+        for (int c = 0; c < n; c++) {
+            results.add(new SearchResult(names.get(c), accuracy[c], auc[c]));
+        }
+        boolean allAUC = true;
+        for (SearchResult result : results) {
+            allAUC &= !Double.isNaN(result.getMeanAUC());
+        }
+        Comparator<SearchResult> metric = allAUC ? Comparator.comparingDouble(SearchResult::getMeanAUC) : Comparator.comparingDouble(SearchResult::getMeanAccuracy);
+        results.sort(metric.reversed());
+
+        return results;
+    }
+
+    /**
+     * Formats a ranked list of results as a table.
+     *
+     * @param results The results, such as those returned by {@link #run()}.
+     * @return The table, one candidate per line.
+     */
+    public static String toTable(List<SearchResult> results) {
+        StringBuilder sb = new StringBuilder();
+
+        sb.append(String.format("%-5s %-40s %-20s%s%n", "Rank", "Candidate", "Accuracy", "AUC"));
+        for (int r = 0; r < results.size(); r++) {
+            sb.append(String.format("%-5d ", r + 1)).append(results.get(r)).append("\n");
+        }
+
+        return sb.toString();
+    }
+
+    //Fits fresh preprocessing steps on a fold's training view, and applies them to copies of both views so the
+    //shared data is left as it was.
+    private Dataset[] preprocess(Dataset train, Dataset test) {
+        double[][] trainRows = copy(train.rows());
+        double[][] testRows = copy(test.rows());
+
+        for (Supplier<? extends Transformer> step : preprocessing) {
+            Transformer transformer = step.get();
+            transformer.fit(trainRows);
+            transformer.transform(trainRows);
+            transformer.transform(testRows);
+        }
+
+        return new Dataset[]{new Dataset(trainRows, train.labels()), new Dataset(testRows, test.labels())};
+    }
+
+    //Copies every row of a set of samples.
+    private static double[][] copy(double[][] rows) {
+        double[][] out = new double[rows.length][];
+        for (int i = 0; i < rows.length; i++) {
+            out[i] = rows[i].clone();
+        }
+
+        return out;
+    }
+
+    //Trains a model on one fold's training view and scores it on its testing view.
+    private static ClassificationReport evaluate(Model model, Dataset train, Dataset test) {
+        model.train(train);
+        double[] scores = new double[test.size()];
+        model.predictMultipleSamples(test, scores);
+
+        return new ClassificationReport(test.labels(), scores);
+    }
+
+    //Names a set of basis functions by their registered names, or by its position if one is not registered.
+    private static String describe(Function<Double, Double>[] fncs, int index) {
+        try {
+            StringBuilder sb = new StringBuilder("[");
+            for (int i = 0; i < fncs.length; i++) {
+                sb.append(i == 0 ? "" : ", ").append(BasisFunctions.nameOf(fncs[i]));
+            }
+            return sb.append("]").toString();
+        }
+        catch (IllegalArgumentException e) {
+            return "set " + (index + 1);
+        }
+    }
+
+}
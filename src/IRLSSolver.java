@@ -0,0 +1,181 @@
+/**
+ * Fits a logistic regression model using Newton's method, also known as iteratively reweighted least squares.
+ * <p>
+ *     Each iteration makes one pass over the data to build the gradient and the Hessian of the mean log-loss, then
+ *     solves the Newton system with a Cholesky factorization. Convergence is quadratic near the optimum, so a few
+ *     iterations are usually enough and no learning rate is needed. Building and factoring the Hessian costs
+ *     O(n * d^2 + d^3) per iteration for d weights, which suits models with a moderate number of weights; larger
+ *     models should use {@link LBFGSSolver}.
+ * </p>
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+public class IRLSSolver implements LogisticSolver {
+    //Added to the diagonal of the Hessian so it stays positive definite when the data is nearly separable.
+    private static final double RIDGE = 1e-8;
+
+    private final int maxIterations;
+    private final double tolerance;
+
+    /**
+     * Creates a Newton's method solver that makes at most 25 iterations.
+     */
+    public IRLSSolver() {
+        this(25, 1e-8);
+    }
+
+    /**
+     * Creates a Newton's method solver.
+     *
+     * @param maxIterations The maximum number of iterations made each time the solver is used.
+     * @param tolerance The norm of the gradient below which the weights are considered converged.
+     * @throws IllegalArgumentException If the maximum number of iterations is less than 1 or the tolerance is negative.
+     */
+    public IRLSSolver(int maxIterations, double tolerance) {
+        if (maxIterations < 1) {
+            throw new IllegalArgumentException("The maximum number of iterations must be at least 1!");
+        }
+        if (tolerance < 0) {
+            throw new IllegalArgumentException("Tolerance must not be negative!");
+        }
+
+        this.maxIterations = maxIterations;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Returns the maximum number of iterations made each time the solver is used.
+     *
+     * @return The maximum number of iterations.
+     */
+    public int getMaxIterations() {
+        return maxIterations;
+    }
+
+    /**
+     * Returns the norm of the gradient below which the weights are considered converged.
+     *
+     * @return The tolerance.
+     */
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    /**
+     * {@inheritDoc} The learning rate is ignored.
+     */
+    @Override
+    public double[] solve(double[][] X, double[] y, double[] w0, BasisFunction[] fncs, double learningRate, TrainingMonitor monitor) {
+        int n = X.length;
+        int d = w0.length;
+        if (n == 0) {
+            return w0;
+        }
+
+        double[] phi = new double[d];
+        double[] grad = new double[d];
+        double[][] hessian = new double[d][d];
+        monitor.begin(w0);
+
+        for (int it = 0; it < maxIterations; it++) {
+            double loss = 0.0;
+            for (int j = 0; j < d; j++) {
+                grad[j] = 0;
+                for (int k = 0; k <= j; k++) {
+                    hessian[j][k] = 0;
+                }
+            }
+
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < d; j++) {
+                    phi[j] = 0;
+                }
+                BasisExpansion.accumulate(X[i], 1.0, fncs, phi);
+                double p = ActivationFunctions.sigmoid(BasisExpansion.evaluate(X[i], w0, fncs));
+                double r = p - y[i];
+                double s = p * (1 - p);
+                loss += LogisticLoss.logLoss(y[i], p);
+
+                //Only the lower triangle is needed by the factorization
+                for (int j = 0; j < d; j++) {
+                    double sj = s * phi[j];
+                    grad[j] += r * phi[j];
+                    double[] row = hessian[j];
+                    for (int k = 0; k <= j; k++) {
+                        row[k] += sj * phi[k];
+                    }
+                }
+            }
+
+            for (int j = 0; j < d; j++) {
+                grad[j] /= n;
+                for (int k = 0; k <= j; k++) {
+                    hessian[j][k] /= n;
+                }
+                hessian[j][j] += RIDGE;
+            }
+
+            double gradNorm = LogisticLoss.norm(grad);
+            if (gradNorm < tolerance) {
+                break;
+            }
+
+            //Newton step, the loss and gradient are those of the weights before the step
+            double[] step = choleskySolve(hessian, grad);
+            for (int j = 0; j < d; j++) {
+                w0[j] -= step[j];
+            }
+            if (!monitor.iteration(it + 1, loss / n, gradNorm, w0)) {
+                break;
+            }
+        }
+
+        monitor.finish(w0);
+        return w0;
+    }
+
+    //Solves A * x = b for a symmetric positive definite A, given its lower triangle. A is overwritten by its factor.
+    private static double[] choleskySolve(double[][] A, double[] b) {
+        int d = b.length;
+
+        for (int j = 0; j < d; j++) {
+            double diag = A[j][j];
+            for (int k = 0; k < j; k++) {
+                diag -= A[j][k] * A[j][k];
+            }
+            if (diag <= 0) {
+                throw new IllegalStateException("The Hessian is not positive definite!");
+            }
+            diag = Math.sqrt(diag);
+            A[j][j] = diag;
+
+            for (int i = j + 1; i < d; i++) {
+                double sum = A[i][j];
+                for (int k = 0; k < j; k++) {
+                    sum -= A[i][k] * A[j][k];
+                }
+                A[i][j] = sum / diag;
+            }
+        }
+
+        //Forward substitution with L, then back substitution with L^T
+        double[] x = b.clone();
+        for (int i = 0; i < d; i++) {
+            for (int k = 0; k < i; k++) {
+                x[i] -= A[i][k] * x[k];
+            }
+            x[i] /= A[i][i];
+        }
+        for (int i = d - 1; i >= 0; i--) {
+            for (int k = i + 1; k < d; k++) {
+                x[i] -= A[k][i] * x[k];
+            }
+            x[i] /= A[i][i];
+        }
+
+        return x;
+    }
+
+}
@@ -0,0 +1,19 @@
+/**
+ * Replaces missing feature values, recorded as 0, with the mean of that feature in the data the imputer was fitted to.
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+public class Imputer extends Transformer {
+
+    @Override
+    protected void transformRow(double[] row, int start) {
+        for (int j = 0; j < stats.getNumCols(); j++) {
+            if (Data.isZero(row[start + j])) {
+                row[start + j] = stats.getMean(j);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,267 @@
+import java.util.function.ToDoubleBiFunction;
+
+/**
+ * Fits a logistic regression model using the limited-memory BFGS quasi-Newton method.
+ * <p>
+ *     The solver keeps the last few changes in the weights and the gradient and uses them to approximate the inverse
+ *     Hessian, so each iteration costs O(n * d) like gradient descent while converging in far fewer passes. A
+ *     backtracking line search chooses the step length, so no learning rate is needed. This suits models with too
+ *     many weights for {@link IRLSSolver}.
+ * </p>
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+public class LBFGSSolver implements LogisticSolver {
+    //Sufficient decrease constant of the Armijo condition.
+    private static final double ARMIJO = 1e-4;
+    private static final int MAX_BACKTRACKS = 30;
+
+    private final int maxIterations;
+    private final int memory;
+    private final double tolerance;
+
+    /**
+     * Creates an L-BFGS solver that makes at most 100 iterations and remembers the last 10 updates.
+     */
+    public LBFGSSolver() {
+        this(100, 10, 1e-6);
+    }
+
+    /**
+     * Creates an L-BFGS solver.
+     *
+     * @param maxIterations The maximum number of iterations made each time the solver is used.
+     * @param memory The number of previous updates used to approximate the inverse Hessian.
+     * @param tolerance The norm of the gradient below which the weights are considered converged.
+     * @throws IllegalArgumentException If the maximum number of iterations or the memory is less than 1.
+     * @throws IllegalArgumentException If the tolerance is negative.
+     */
+    public LBFGSSolver(int maxIterations, int memory, double tolerance) {
+        if (maxIterations < 1) {
+            throw new IllegalArgumentException("The maximum number of iterations must be at least 1!");
+        }
+        if (memory < 1) {
+            throw new IllegalArgumentException("Memory must be at least 1!");
+        }
+        if (tolerance < 0) {
+            throw new IllegalArgumentException("Tolerance must not be negative!");
+        }
+
+        this.maxIterations = maxIterations;
+        this.memory = memory;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Returns the maximum number of iterations made each time the solver is used.
+     *
+     * @return The maximum number of iterations.
+     */
+    public int getMaxIterations() {
+        return maxIterations;
+    }
+
+    /**
+     * Returns the number of previous updates used to approximate the inverse Hessian.
+     *
+     * @return The memory of the solver.
+     */
+    public int getMemory() {
+        return memory;
+    }
+
+    /**
+     * Returns the norm of the gradient below which the weights are considered converged.
+     *
+     * @return The tolerance.
+     */
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    /**
+     * {@inheritDoc} The learning rate is ignored.
+     */
+    @Override
+    public double[] solve(double[][] X, double[] y, double[] w0, BasisFunction[] fncs, double learningRate, TrainingMonitor monitor) {
+        if (X.length == 0) {
+            return w0;
+        }
+
+        return minimize((w, grad) -> LogisticLoss.evaluate(X, y, w, fncs, grad), w0, monitor);
+    }
+
+    /**
+     * {@inheritDoc} The learning rate is ignored, and the loss and gradient are computed from the non-zero entries
+     * only.
+     */
+    @Override
+    public double[] solve(SparseMatrix X, double[] y, double[] w0, BasisFunction[] fncs, double learningRate, TrainingMonitor monitor) {
+        if (X.getRows() == 0) {
+            return w0;
+        }
+
+        return minimize((w, grad) -> LogisticLoss.evaluate(X, y, w, fncs, grad), w0, monitor);
+    }
+
+    //Minimizes a loss, given a function that returns the loss at a point and writes its gradient to the second array.
+    //Also used by models with their own loss, such as SoftmaxClassifier.
+    double[] minimize(ToDoubleBiFunction<double[], double[]> objective, double[] w0, TrainingMonitor monitor) {
+        int d = w0.length;
+        History history = new History(memory, d);
+
+        double[] grad = new double[d];
+        double[] nextGrad = new double[d];
+        double[] dir = new double[d];
+        double[] next = new double[d];
+        double[] step = new double[d];
+        double[] change = new double[d];
+        double loss = objective.applyAsDouble(w0, grad);
+        monitor.begin(w0);
+
+        for (int it = 0; it < maxIterations; it++) {
+            if (LogisticLoss.norm(grad) < tolerance) {
+                break;
+            }
+
+            history.direction(grad, dir);
+
+            //Falling back to steepest descent if the approximation has lost its positive definiteness
+            double slope = dot(grad, dir);
+            if (slope >= 0) {
+                history.clear();
+                for (int j = 0; j < d; j++) {
+                    dir[j] = -grad[j];
+                }
+                slope = -dot(grad, grad);
+            }
+
+            //Backtracking line search
+            double t = 1.0;
+            double nextLoss = Double.NaN;
+            for (int b = 0; b < MAX_BACKTRACKS; b++) {
+                for (int j = 0; j < d; j++) {
+                    next[j] = w0[j] + t * dir[j];
+                }
+                nextLoss = objective.applyAsDouble(next, nextGrad);
+                if (nextLoss <= loss + ARMIJO * t * slope) {
+                    break;
+                }
+                t /= 2;
+            }
+            if (!(nextLoss < loss)) {
+                break;
+            }
+
+            for (int j = 0; j < d; j++) {
+                step[j] = next[j] - w0[j];
+                change[j] = nextGrad[j] - grad[j];
+            }
+            history.add(step, change);
+
+            System.arraycopy(next, 0, w0, 0, d);
+            System.arraycopy(nextGrad, 0, grad, 0, d);
+            loss = nextLoss;
+
+            if (!monitor.iteration(it + 1, loss, LogisticLoss.norm(grad), w0)) {
+                break;
+            }
+        }
+
+        monitor.finish(w0);
+        return w0;
+    }
+
+    //The most recent changes in the weights (s) and in the gradient (y), which approximate the inverse Hessian.
+    static final class History {
+        //Pairs whose curvature s . y is not above this are not remembered, since they would make the approximation
+        //lose its positive definiteness.
+        private static final double MIN_CURVATURE = 1e-12;
+
+        private final int memory;
+        private final double[][] s;
+        private final double[][] y;
+        private final double[] rho;
+        private final double[] alpha;
+        private int stored = 0;
+        private int newest = -1;
+
+        History(int memory, int d) {
+            this.memory = memory;
+            s = new double[memory][d];
+            y = new double[memory][d];
+            rho = new double[memory];
+            alpha = new double[memory];
+        }
+
+        //Remembers a pair, replacing the oldest one if the memory is full. A pair without enough curvature is
+        //rejected and the stored pairs are left untouched. Returns if the pair was remembered.
+        boolean add(double[] step, double[] change) {
+            double sy = dot(step, change);
+            if (!(sy > MIN_CURVATURE)) {
+                return false;
+            }
+
+            int m = (newest + 1) % memory;
+            System.arraycopy(step, 0, s[m], 0, step.length);
+            System.arraycopy(change, 0, y[m], 0, change.length);
+            rho[m] = 1.0 / sy;
+            newest = m;
+            stored = Math.min(stored + 1, memory);
+            return true;
+        }
+
+        //Forgets every pair.
+        void clear() {
+            stored = 0;
+            newest = -1;
+        }
+
+        //The number of pairs remembered.
+        int size() {
+            return stored;
+        }
+
+        //Computes dir = -H * grad with the two-loop recursion.
+        void direction(double[] grad, double[] dir) {
+            int d = grad.length;
+            System.arraycopy(grad, 0, dir, 0, d);
+            for (int k = 0; k < stored; k++) {
+                int m = Math.floorMod(newest - k, memory);
+                alpha[m] = rho[m] * dot(s[m], dir);
+                axpy(-alpha[m], y[m], dir);
+            }
+            double gamma = stored == 0 ? 1.0 / Math.max(1.0, LogisticLoss.norm(grad)) : dot(s[newest], y[newest]) / dot(y[newest], y[newest]);
+            for (int j = 0; j < d; j++) {
+                dir[j] *= gamma;
+            }
+            for (int k = stored - 1; k >= 0; k--) {
+                int m = Math.floorMod(newest - k, memory);
+                double beta = rho[m] * dot(y[m], dir);
+                axpy(alpha[m] - beta, s[m], dir);
+            }
+            for (int j = 0; j < d; j++) {
+                dir[j] = -dir[j];
+            }
+        }
+    }
+
+    private static double dot(double[] a, double[] b) {
+        double sum = 0.0;
+        for (int j = 0; j < a.length; j++) {
+            sum += a[j] * b[j];
+        }
+
+        return sum;
+    }
+
+    //b = b + a * x
+    private static void axpy(double a, double[] x, double[] b) {
+        for (int j = 0; j < b.length; j++) {
+            b[j] += a * x[j];
+        }
+    }
+
+}
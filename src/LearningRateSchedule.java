@@ -0,0 +1,63 @@
+/**
+ * A schedule that changes a model's learning rate as training progresses.
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface LearningRateSchedule {
+
+    /**
+     * Computes the learning rate to use during an epoch.
+     *
+     * @param learningRate The model's learning rate.
+     * @param epoch The number of epochs that have already been completed.
+     * @return The learning rate to use during the epoch.
+     */
+    double rate(double learningRate, int epoch);
+
+    /**
+     * Creates a schedule that always uses the model's learning rate.
+     *
+     * @return A schedule that always uses the model's learning rate.
+     */
+    static LearningRateSchedule constant() {
+        return (learningRate, epoch) -> learningRate;
+    }
+
+    /**
+     * Creates a schedule where the learning rate is divided by (1 + decay * epoch).
+     *
+     * @param decay How quickly the learning rate decreases.
+     * @return A schedule with inverse time decay.
+     * @throws IllegalArgumentException If the decay is negative.
+     */
+    static LearningRateSchedule inverseTime(double decay) {
+        if (decay < 0) {
+            throw new IllegalArgumentException("Decay must not be negative!");
+        }
+
+        return (learningRate, epoch) -> learningRate / (1 + decay * epoch);
+    }
+
+    /**
+     * Creates a schedule where the learning rate is multiplied by a factor every few epochs.
+     *
+     * @param factor The value the learning rate is multiplied by.
+     * @param every The number of epochs between each change to the learning rate.
+     * @return A schedule with step decay.
+     * @throws IllegalArgumentException If the factor is not between 0 and 1 or every is less than 1.
+     */
+    static LearningRateSchedule stepDecay(double factor, int every) {
+        if (factor <= 0 || factor > 1) {
+            throw new IllegalArgumentException("Factor must be greater than 0 and at most 1!");
+        }
+        if (every < 1) {
+            throw new IllegalArgumentException("Every must be at least 1!");
+        }
+
+        return (learningRate, epoch) -> learningRate * Math.pow(factor, epoch / every);
+    }
+
+}
@@ -3,11 +3,90 @@
 import java.util.function.Function;
 
 public class LogRegClassifier extends Model{
+    protected LogisticSolver solver;
+    protected boolean fastSigmoid = false;
 
     public LogRegClassifier(double learningRate, Function<Double, Double>[] basisFunctions) {
         super(learningRate, basisFunctions);
     }
 
+    /**
+     * Creates a logistic regression classifier that is trained by the solver provided.
+     *
+     * @param learningRate The learning rate the model will use when training.
+     * @param basisFunctions The set of basis functions used to fit the model.
+     * @param solver The method used to fit the model's weights, such as an {@link SGDSolver}.
+     */
+    public LogRegClassifier(double learningRate, Function<Double, Double>[] basisFunctions, LogisticSolver solver) {
+        super(learningRate, basisFunctions);
+        this.solver = solver;
+    }
+
+    /**
+     * Creates a logistic regression classifier that is trained by a solver that does not need a learning rate, such
+     * as an {@link IRLSSolver} or an {@link LBFGSSolver}.
+     *
+     * @param basisFunctions The set of basis functions used to fit the model.
+     * @param solver The method used to fit the model's weights.
+     */
+    public LogRegClassifier(Function<Double, Double>[] basisFunctions, LogisticSolver solver) {
+        this(0.001, basisFunctions, solver);
+    }
+
+    /**
+     * Sets if predictions use {@link ActivationFunctions#fastSigmoid(double)}, which is within
+     * {@link ActivationFunctions#FAST_SIGMOID_MAX_ERROR} of the exact sigmoid but avoids Math.exp. Training always
+     * uses the exact sigmoid.
+     *
+     * @param fastSigmoid If predictions should use the approximate sigmoid.
+     */
+    public void setFastSigmoid(boolean fastSigmoid) {
+        modifying();
+        this.fastSigmoid = fastSigmoid;
+        modified();
+    }
+
+    /**
+     * Returns if predictions use the approximate sigmoid.
+     *
+     * @return If predictions use the approximate sigmoid.
+     */
+    public boolean isFastSigmoid() {
+        return fastSigmoid;
+    }
+
+    /**
+     * Compiles the trained model into a scorer that stores its weights, and reads samples, as 32-bit floats.
+     *
+     * @return The float scorer.
+     * @throws IllegalStateException If the model is untrained.
+     */
+    public Float32Scorer compileFloat32() {
+        if (!trained) {
+            throw new IllegalStateException("The model is not trained!");
+        }
+
+        return new Float32Scorer(weightValues, basis, link());
+    }
+
+    /**
+     * Compiles the trained model into a scorer that reads samples quantized to one byte per feature, with the range
+     * of each feature taken from a calibration set.
+     *
+     * @param calibration The samples the quantization is calibrated on, usually the training data.
+     * @return The quantized scorer.
+     * @throws IllegalStateException If the model is untrained.
+     * @throws IllegalArgumentException If the calibration set is empty or does not have the number of features the
+     *                                  model was trained on.
+     */
+    public Int8Scorer compileInt8(double[][] calibration) {
+        if (!trained) {
+            throw new IllegalStateException("The model is not trained!");
+        }
+
+        return new Int8Scorer(weightValues, basis, calibration, link());
+    }
+
     @Override
     protected Matrix generateW0(int n) {
         return LinearAlgebra.zeroMatrix(n, 1);
@@ -15,15 +94,89 @@ public class LogRegClassifier extends Model{
 
     @Override
     protected Matrix predictProtected(Matrix x) {
-        Matrix y = buildFunction(x);
+        double[] y = buildFunctionValues(x);
 
-        //Only works for binary classification
-        return LinearAlgebra.applyFunction(y, ActivationFunctions.sigmoid);
+        //Only works for binary classification, SoftmaxClassifier handles more classes
+        sigmoid(y, 0, y.length);
+
+        return new Matrix(y);
+    }
+
+    @Override
+    protected double predictSample(double[] x) {
+        double z = BasisExpansion.evaluate(x, weightValues, basis);
+        return fastSigmoid ? ActivationFunctions.fastSigmoid(z) : ActivationFunctions.sigmoid(z);
+    }
+
+    @Override
+    protected double predictSample(double[] x, double[] w, BasisFunction[] fncs) {
+        return ActivationFunctions.sigmoid(BasisExpansion.evaluate(x, w, fncs));
+    }
+
+    @Override
+    protected Scorer compileProtected() {
+        return CompiledExpansion.compile(weightValues, basis, link());
+    }
+
+    @Override
+    protected void predictSamples(SparseMatrix X, int start, int end, double[] out) {
+        BasisExpansion.evaluate(X, start, end, weightValues, basis, out);
+        sigmoid(out, start, end - start);
     }
 
     @Override
     protected void trainProtected(Matrix X, Matrix y, Matrix w0) {
-        weights = Regression.logisticReg(X, y, w0, learningRate, basisFunctions, false);
+        if (solver == null) {
+            TrainingMonitor monitor = monitor();
+            monitor.begin(w0.getCol(1));
+            weights = Regression.logisticReg(X, y, w0, learningRate, basis, false);
+
+            //Regression.logisticReg cannot report each iteration or stop early, so only the result is reported
+            if (monitor.isActive()) {
+                double[][] x = X.getMatrix();
+                double[] w = weights.getCol(1);
+                double[] grad = new double[w.length];
+                monitor.iteration(1, LogisticLoss.evaluate(x, y.getCol(1), w, basis, grad), LogisticLoss.norm(grad), w);
+            }
+        }
+        else {
+            trainProtected(X.getMatrix(), y.getCol(1), w0.getCol(1));
+        }
+    }
+
+    @Override
+    protected void trainProtected(double[][] X, double[] y, double[] w0) {
+        if (solver == null) {
+            super.trainProtected(X, y, w0);
+        }
+        else {
+            weights = new Matrix(solver.solve(X, y, w0, basis, learningRate, monitor()));
+        }
+    }
+
+    @Override
+    protected void trainProtected(SparseMatrix X, double[] y, double[] w0) {
+        if (solver == null) {
+            super.trainProtected(X, y, w0);
+        }
+        else {
+            weights = new Matrix(solver.solve(X, y, w0, basis, learningRate, monitor()));
+        }
+    }
+
+    //The sigmoid chosen for predictions, as the link of a compiled scorer.
+    private CompiledExpansion.Link link() {
+        return fastSigmoid ? CompiledExpansion.Link.FAST_SIGMOID : CompiledExpansion.Link.SIGMOID;
+    }
+
+    //Applies the sigmoid chosen for predictions to a range of values, in place.
+    private void sigmoid(double[] z, int offset, int length) {
+        if (fastSigmoid) {
+            ActivationFunctions.fastSigmoid(z, offset, length);
+        }
+        else {
+            ActivationFunctions.sigmoid(z, offset, length);
+        }
     }
 
 }
@@ -0,0 +1,118 @@
+/**
+ * A static class that computes the log-loss of a logistic regression model and its gradient.
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+public class LogisticLoss {
+
+    //Keeps log(0) out of the loss when a prediction is exactly 0 or 1.
+    private static final double EPS = 1e-15;
+
+    /**
+     * Computes the log-loss of a single prediction.
+     *
+     * @param y The true label, either 0 or 1.
+     * @param p The predicted probability that the label is 1.
+     * @return The log-loss of the prediction.
+     */
+    public static double logLoss(double y, double p) {
+        p = Math.min(Math.max(p, EPS), 1 - EPS);
+        return -(y * Math.log(p) + (1 - y) * Math.log(1 - p));
+    }
+
+    /**
+     * Computes the mean log-loss of a model over a set of samples and, optionally, its gradient.
+     *
+     * @param X The parameter values for a set of samples, one sample per row.
+     * @param y The labels of the samples, either 0 or 1.
+     * @param w The weights of the model.
+     * @param fncs The basis functions of the model.
+     * @param grad The array the mean gradient will be written to, or null if it is not needed.
+     * @return The mean log-loss.
+     */
+    public static double evaluate(double[][] X, double[] y, double[] w, BasisFunction[] fncs, double[] grad) {
+        if (grad != null) {
+            for (int j = 0; j < grad.length; j++) {
+                grad[j] = 0;
+            }
+        }
+
+        double loss = 0.0;
+        for (int i = 0; i < X.length; i++) {
+            double p = ActivationFunctions.sigmoid(BasisExpansion.evaluate(X[i], w, fncs));
+            loss += logLoss(y[i], p);
+            if (grad != null) {
+                BasisExpansion.accumulate(X[i], p - y[i], fncs, grad);
+            }
+        }
+
+        if (grad != null) {
+            for (int j = 0; j < grad.length; j++) {
+                grad[j] /= X.length;
+            }
+        }
+
+        return loss / X.length;
+    }
+
+    /**
+     * Computes the mean log-loss of a model over a set of samples stored in a sparse matrix and, optionally, its
+     * gradient. Only the non-zero features of each sample are visited.
+     *
+     * @param X The parameter values for a set of samples, one sample per row.
+     * @param y The labels of the samples, either 0 or 1.
+     * @param w The weights of the model.
+     * @param fncs The basis functions of the model.
+     * @param grad The array the mean gradient will be written to, or null if it is not needed.
+     * @return The mean log-loss.
+     */
+    public static double evaluate(SparseMatrix X, double[] y, double[] w, BasisFunction[] fncs, double[] grad) {
+        int n = X.getRows();
+        double[] zeros = BasisExpansion.zeros(fncs);
+        double base = BasisExpansion.baseline(w, zeros, X.getCols());
+        if (grad != null) {
+            for (int j = 0; j < grad.length; j++) {
+                grad[j] = 0;
+            }
+        }
+
+        double loss = 0.0;
+        double residuals = 0.0;
+        for (int i = 0; i < n; i++) {
+            double p = ActivationFunctions.sigmoid(BasisExpansion.evaluate(X, i, w, fncs, zeros, base));
+            loss += logLoss(y[i], p);
+            if (grad != null) {
+                BasisExpansion.accumulate(X, i, p - y[i], fncs, zeros, grad);
+                residuals += p - y[i];
+            }
+        }
+
+        if (grad != null) {
+            //Every sample shares the all-zero part of its expanded features, so it is added once
+            BasisExpansion.accumulateZero(X.getCols(), residuals, zeros, grad);
+            for (int j = 0; j < grad.length; j++) {
+                grad[j] /= n;
+            }
+        }
+
+        return loss / n;
+    }
+
+    /**
+     * Computes the Euclidean norm of a vector.
+     *
+     * @param v The vector.
+     * @return The Euclidean norm of the vector.
+     */
+    public static double norm(double[] v) {
+        double sum = 0.0;
+        for (double x : v) {
+            sum += x * x;
+        }
+
+        return Math.sqrt(sum);
+    }
+
+}
@@ -0,0 +1,53 @@
+/**
+ * A method for fitting the weights of a logistic regression model.
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+public interface LogisticSolver {
+
+    /**
+     * Fits the weights of a logistic regression model to the data provided.
+     *
+     * @param X The parameter values for a set of samples, one sample per row.
+     * @param y The labels of the samples, either 0 or 1.
+     * @param w0 The initial weights. Solvers may update this array in place.
+     * @param fncs The basis functions used to fit the model.
+     * @param learningRate The model's learning rate. Solvers that do not use a learning rate ignore it.
+     * @return The fitted weights.
+     */
+    default double[] solve(double[][] X, double[] y, double[] w0, BasisFunction[] fncs, double learningRate) {
+        return solve(X, y, w0, fncs, learningRate, TrainingMonitor.NONE);
+    }
+
+    /**
+     * Fits the weights of a logistic regression model to the data provided, reporting progress to a monitor.
+     *
+     * @param X The parameter values for a set of samples, one sample per row.
+     * @param y The labels of the samples, either 0 or 1.
+     * @param w0 The initial weights. Solvers may update this array in place.
+     * @param fncs The basis functions used to fit the model.
+     * @param learningRate The model's learning rate. Solvers that do not use a learning rate ignore it.
+     * @param monitor The monitor that progress is reported to after each iteration or epoch.
+     * @return The fitted weights.
+     */
+    double[] solve(double[][] X, double[] y, double[] w0, BasisFunction[] fncs, double learningRate, TrainingMonitor monitor);
+
+    /**
+     * Fits the weights of a logistic regression model to samples stored in a sparse matrix, reporting progress to a
+     * monitor. Solvers that cannot work with sparse samples directly train on a dense copy.
+     *
+     * @param X The parameter values for a set of samples, one sample per row.
+     * @param y The labels of the samples, either 0 or 1.
+     * @param w0 The initial weights. Solvers may update this array in place.
+     * @param fncs The basis functions used to fit the model.
+     * @param learningRate The model's learning rate. Solvers that do not use a learning rate ignore it.
+     * @param monitor The monitor that progress is reported to after each iteration or epoch.
+     * @return The fitted weights.
+     */
+    default double[] solve(SparseMatrix X, double[] y, double[] w0, BasisFunction[] fncs, double learningRate, TrainingMonitor monitor) {
+        return solve(X.toDense(), y, w0, fncs, learningRate, monitor);
+    }
+
+}
@@ -1,5 +1,4 @@
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Arrays;
 import java.util.function.Function;
 
 /**
@@ -162,13 +161,15 @@ public class Metrics {
 
     //Counts the number of classes.
     private static int countClasses(Matrix y) {
-        int n = 0;
-        y = LinearAlgebra.roundMatrix(y);
-        Set<Integer> classes = new HashSet<>();
+        long[] classes = new long[y.getRows()];
+        for (int i = 0; i < classes.length; i++) {
+            classes[i] = Math.round(y.getValue(i + 1, 1));
+        }
+        Arrays.sort(classes);
 
-        for (int i = 1; i <= y.getRows(); i++) {
-            if (!classes.contains((int) y.getValue(i, 1))) {
-                classes.add((int) y.getValue(i, 1));
+        int n = 0;
+        for (int i = 0; i < classes.length; i++) {
+            if (i == 0 || classes[i] != classes[i - 1]) {
                 n++;
             }
         }
@@ -199,155 +200,125 @@ public class Metrics {
         return (2 * r * p) / (r + p);
     }
 
-    //ToDo: Generalize for multi-classification
+    /**
+     * Creates a classification report from two data sets, where the approximate data set will be created from a
+     * function created by the weights provided. The test set is only scored once.
+     *
+     * @param xTest The x values of the exact data.
+     * @param yTest The true data set.
+     * @param w The weights of the function from which an approximation will be created.
+     * @param fnc The functions used to model the data.
+     * @return The classification report for the test set.
+     * @throws IllegalArgumentException If the data sets provided are not the same length.
+     */
+    public static ClassificationReport classificationReport(Matrix xTest, Matrix yTest, Matrix w, Function[] fnc) {
+        if (yTest.getRows() != xTest.getRows()) {
+            throw new IllegalArgumentException("The data sets must be the same length!");
+        }
+
+        return new ClassificationReport(yTest, Regression.buildLogisticFunction(xTest, w, fnc));
+    }
+
     //https://scikit-learn.org/stable/modules/generated/sklearn.metrics.classification_report.html
     public static void printClassificationReport (Matrix xTest, Matrix yTest, Matrix w, Function[] fnc) {
-        Matrix CM = confusionMatrix(xTest, yTest, w, fnc);
+        ClassificationReport report = classificationReport(xTest, yTest, w, fnc);
 
-        if (CM.getRows() != 2 && CM.getCols() != 2) {
+        if (report.getNumClasses() != 2) {
             throw new IllegalArgumentException("The confusion matrix must be 2x2!");
         }
-        System.out.println("Classification Report\n" + "---------------------");
-        //Printing the confusion matrix
-        System.out.println("Confusion Matrix:");
-        for (int i = 0; i < CM.getRows(); i++) {
-            System.out.print("Actual " + i + " - " + LinearAlgebra.transpose(LinearAlgebra.vectorFromRow(CM, i + 1)) + "\n");
-        }
-        System.out.print("Predicted:     ");
-        for (int i = 0; i < CM.getCols(); i++) {
-            System.out.print(i + "      ");
-        }
-
-        //General Metrics
-        System.out.println("\n\nAccuracy: " + accuracy(CM));
-        System.out.println("Precision: " + precision(CM));
-        System.out.println("Recall: " + recall(CM));
-
-        double p;
-        double r;
-        double f;
-        String pString;
-        String rString;
-        String fString;
-        String sString;
-        double[] ps = new double[CM.getRows()];
-        double[] rs = new double[CM.getCols()];
-        double[] fs = new double[CM.getCols()];
-
-        //Class specific metrics
-        System.out.println("\n\t\t\tPrecision\tRecall\tF1-score\tSupport");
-        for (int i = 0; i < CM.getRows(); i++) {
-            p = CM.getValue(i + 1, i + 1) / LinearAlgebra.colSum(CM, i + 1);
-            ps[i] = p;
-            r = CM.getValue(i + 1, i + 1) / LinearAlgebra.rowSum(CM, i + 1);
-            rs[i] = r;
-            f =  (2 * r * p) / (r + p);
-            fs[i] = f;
-            pString = String.format("%.2f", p);
-            rString = String.format("%.2f", r);
-            fString = String.format("%.2f", f);
-            sString = String.format("%.0f", LinearAlgebra.rowSum(CM, i + 1));
-
-            System.out.print("\t\t" + i + "     " + pString + "\t\t " + rString + "\t  " + fString + "\t\t   " + sString);
-            System.out.println();
 
-        }
-
-        sString = String.format("%.0f", LinearAlgebra.matrixSum(CM));
-        String acc = String.format("%.2f", accuracy(CM));
-        System.out.println(" Accuracy\t\t\t\t\t\t  " + acc + "\t\t   " + sString);
-        pString = String.format("%.2f", Stat.mean(ps));
-        rString = String.format("%.2f", Stat.mean(rs));
-        fString = String.format("%.2f", Stat.mean(fs));
-        System.out.println("Macro Avg     " + pString + "\t\t " + rString + "\t  " + fString + "\t\t   " + sString);
-
-        double[] support = new double[CM.getRows()];
-        for (int i = 0; i < CM.getRows(); i++) {
-            support[i] = LinearAlgebra.rowSum(CM, i + 1);
-        }
-        pString = String.format("%.2f", Stat.weightedMean(ps, support));
-        rString = String.format("%.2f", Stat.weightedMean(rs, support));
-        fString = String.format("%.2f", Stat.weightedMean(fs, support));
-        System.out.println("Micro Avg     " + pString + "\t\t " + rString + "\t  " + fString + "\t\t   " + sString);
-
-        Matrix roc = getROCCurve(xTest, yTest, w, fnc);
-        double auc = getAUC(LinearAlgebra.vectorFromColumn(roc, 2), LinearAlgebra.vectorFromColumn(roc, 1));
-        String curve = "ROC Curve (AUC = " + String.format("%.2f", auc) + ")";
-        PyChart.plot(LinearAlgebra.vectorFromColumn(roc, 1), LinearAlgebra.vectorFromColumn(roc, 2), curve, "False Positive Rate", "True Positive Rate", "Receiver Operating Characteristic");
+        report.print();
+        report.plotROC();
     }
 
     public static void printClassificationReport (Matrix yExact, Matrix yApprox) {
-        Matrix CM = confusionMatrix(yExact, yApprox);
+        ClassificationReport report = new ClassificationReport(yExact, yApprox);
 
-        if (CM.getRows() != 2 && CM.getCols() != 2) {
+        if (report.getNumClasses() != 2) {
             throw new IllegalArgumentException("The confusion matrix must be 2x2!");
         }
-        System.out.println("Classification Report\n" + "---------------------");
-        //Printing the confusion matrix
-        System.out.println("Confusion Matrix:");
-        for (int i = 0; i < CM.getRows(); i++) {
-            System.out.print("Actual " + i + " - " + LinearAlgebra.transpose(LinearAlgebra.vectorFromRow(CM, i + 1)) + "\n");
+
+        report.print();
+    }
+
+    /**
+     * Computes the exact ROC Curve which compares the TPR (True Positive Rate) to the FPR (False Positive Rate), with
+     * one point for every distinct predicted value.
+     *
+     * @param xTest The x values of the exact data.
+     * @param yTest The true data set.
+     * @param w The weights of the function from which an approximation will be created.
+     * @param fncs The functions used to model the data.
+     * @return A matrix with the FPR in the first column and the TPR in the second, ordered by increasing threshold.
+     */
+    public static Matrix getROCCurve(Matrix xTest, Matrix yTest, Matrix w, Function[] fncs) {
+        return getROCCurve(yTest, Regression.buildLogisticFunction(xTest, w, fncs));
+    }
+
+    /**
+     * Computes the exact ROC Curve which compares the TPR (True Positive Rate) to the FPR (False Positive Rate), with
+     * one point for every distinct predicted value.
+     * <p>
+     *     The scores of each class are sorted once and then walked from the highest score to the lowest, so the curve
+     *     takes O(n log n) time. Samples with the same score are added together, giving a diagonal segment.
+     * </p>
+     *
+     * @param yExact The true labels, either 0 or 1.
+     * @param yApprox The predicted probability that each sample is in class 1.
+     * @return A matrix with the FPR in the first column and the TPR in the second, ordered by increasing threshold.
+     * @throws IllegalArgumentException If the data sets provided are not the same length.
+     * @throws IllegalArgumentException If a predicted value is NaN.
+     */
+    public static Matrix getROCCurve(Matrix yExact, Matrix yApprox) {
+        if (yExact.getRows() != yApprox.getRows()) {
+            throw new IllegalArgumentException("The data sets must be the same length!");
         }
-        System.out.print("Predicted:     ");
-        for (int i = 0; i < CM.getCols(); i++) {
-            System.out.print(i + "      ");
+
+        double[][] points = rocPoints(yExact.getCol(1), yApprox.getCol(1));
+        int n = points[0].length;
+        Matrix roc = new Matrix(n, 2);
+
+        for (int i = 0; i < n; i++) {
+            roc.setValue(n - i, 1, points[0][i]);
+            roc.setValue(n - i, 2, points[1][i]);
         }
 
-        //General Metrics
-        System.out.println("\n\nAccuracy: " + accuracy(CM));
-        System.out.println("Precision: " + precision(CM));
-        System.out.println("Recall: " + recall(CM));
-
-        double p;
-        double r;
-        double f;
-        String pString;
-        String rString;
-        String fString;
-        String sString;
-        double[] ps = new double[CM.getRows()];
-        double[] rs = new double[CM.getCols()];
-        double[] fs = new double[CM.getCols()];
-
-        //Class specific metrics
-        System.out.println("\n\t\t\tPrecision\tRecall\tF1-score\tSupport");
-        for (int i = 0; i < CM.getRows(); i++) {
-            p = CM.getValue(i + 1, i + 1) / LinearAlgebra.colSum(CM, i + 1);
-            ps[i] = p;
-            r = CM.getValue(i + 1, i + 1) / LinearAlgebra.rowSum(CM, i + 1);
-            rs[i] = r;
-            f =  (2 * r * p) / (r + p);
-            fs[i] = f;
-            pString = String.format("%.2f", p);
-            rString = String.format("%.2f", r);
-            fString = String.format("%.2f", f);
-            sString = String.format("%.0f", LinearAlgebra.rowSum(CM, i + 1));
-
-            System.out.print("\t\t" + i + "     " + pString + "\t\t " + rString + "\t  " + fString + "\t\t   " + sString);
-            System.out.println();
+        return roc;
+    }
 
+    /**
+     * Computes the exact area under the ROC curve, which equals the fraction of (class 1, class 0) pairs the scores
+     * order correctly. Tied scores count as half correctly ordered.
+     *
+     * @param yExact The true labels, either 0 or 1.
+     * @param yApprox The predicted probability that each sample is in class 1.
+     * @return The area under the ROC curve, or NaN if the labels do not include both classes.
+     * @throws IllegalArgumentException If the data sets provided are not the same length.
+     * @throws IllegalArgumentException If a predicted value is NaN.
+     */
+    public static double getExactAUC(double[] yExact, double[] yApprox) {
+        if (yExact.length != yApprox.length) {
+            throw new IllegalArgumentException("The data sets must be the same length!");
         }
 
-        sString = String.format("%.0f", LinearAlgebra.matrixSum(CM));
-        String acc = String.format("%.2f", accuracy(CM));
-        System.out.println(" Accuracy\t\t\t\t\t\t  " + acc + "\t\t   " + sString);
-        pString = String.format("%.2f", Stat.mean(ps));
-        rString = String.format("%.2f", Stat.mean(rs));
-        fString = String.format("%.2f", Stat.mean(fs));
-        System.out.println("Macro Avg     " + pString + "\t\t " + rString + "\t  " + fString + "\t\t   " + sString);
-
-        double[] support = new double[CM.getRows()];
-        for (int i = 0; i < CM.getRows(); i++) {
-            support[i] = LinearAlgebra.rowSum(CM, i + 1);
+        double[][] points = rocPoints(yExact, yApprox);
+        int last = points[0].length - 1;
+        //The curve only ends at (1, 1) if there is at least one sample of each class
+        if (points[0][last] < 1 || points[1][last] < 1) {
+            return Double.NaN;
         }
-        pString = String.format("%.2f", Stat.weightedMean(ps, support));
-        rString = String.format("%.2f", Stat.weightedMean(rs, support));
-        fString = String.format("%.2f", Stat.weightedMean(fs, support));
-        System.out.println("Micro Avg     " + pString + "\t\t " + rString + "\t  " + fString + "\t\t   " + sString);
+        double auc = 0.0;
+
+        for (int i = 1; i < points[0].length; i++) {
+            auc += (points[0][i] - points[0][i - 1]) * (points[1][i] + points[1][i - 1]) / 2.0;
+        }
+
+        return auc;
     }
 
     /**
-     * Plots the ROC Curve which compares (True Positive Rate) to the FPR (False Positive Rate).
+     * Computes the ROC Curve which compares the TPR (True Positive Rate) to the FPR (False Positive Rate) at 101 fixed
+     * thresholds between 0 and 1.
      * <P>
      *     This method was made by ChatGPT.
      * </P>
@@ -357,20 +328,46 @@ public class Metrics {
      * @param w The weights of the function from which an approximation will be created.
      * @param fncs The functions used to model the data.
      */
-    public static Matrix getROCCurve(Matrix xTest, Matrix yTest, Matrix w, Function[] fncs) {
+    public static Matrix getThresholdROCCurve(Matrix xTest, Matrix yTest, Matrix w, Function[] fncs) {
+        return getThresholdROCCurve(xTest, yTest, w, fncs, false);
+    }
+
+    /**
+     * Computes the ROC Curve which compares the TPR (True Positive Rate) to the FPR (False Positive Rate) at 101 fixed
+     * thresholds between 0 and 1, optionally scoring the samples with the approximate sigmoid.
+     *
+     * @param xTest The x values of the exact data.
+     * @param yTest The true data set.
+     * @param w The weights of the function from which an approximation will be created.
+     * @param fncs The functions used to model the data.
+     * @param fastSigmoid If the samples should be scored with {@link ActivationFunctions#fastSigmoid(double)}, which
+     *                    can only move a sample across a threshold if its score is within
+     *                    {@link ActivationFunctions#FAST_SIGMOID_MAX_ERROR} of it.
+     * @return A matrix with the FPR in the first column and the TPR in the second.
+     */
+    public static Matrix getThresholdROCCurve(Matrix xTest, Matrix yTest, Matrix w, Function[] fncs, boolean fastSigmoid) {
         int numThresholds = THRESHOLDS.getRows();
         Matrix roc = new Matrix(numThresholds, 2);
-        Matrix approx = Regression.buildLogisticFunction(xTest, w, fncs);
+        //The metrics take raw Function arrays, but the models only ever hold Function<Double, Double> arrays
+        @SuppressWarnings("unchecked")
+        Function<Double, Double>[] typed = (Function<Double, Double>[]) fncs;
+        double[] approx = BasisExpansion.evaluate(xTest.getMatrix(), w.getCol(1), BasisFunction.of(typed));
+        double[] actual = yTest.getCol(1);
+
+        if (fastSigmoid) {
+            ActivationFunctions.fastSigmoid(approx, 0, approx.length);
+        }
+        else {
+            ActivationFunctions.sigmoid(approx, 0, approx.length);
+        }
 
         for (int t = 1; t <= numThresholds; t++) {
             double threshold = THRESHOLDS.getValue(t, 1);
 
             // Build confusion matrix
             double[][] CM = new double[2][2];
-            for (int i = 1; i <= yTest.getRows(); i++) {
-                int actual = (int) yTest.getValue(i, 1);
-                int predicted = round(approx.getValue(i, 1), threshold);
-                CM[actual][predicted] += 1;
+            for (int i = 0; i < actual.length; i++) {
+                CM[(int) actual[i]][round(approx[i], threshold)] += 1;
             }
 
             double tpr = CM[1][1] / (CM[1][1] + CM[1][0]);
@@ -383,11 +380,73 @@ public class Metrics {
         return roc;
     }
 
+    //Finds the (FPR, TPR) points of the exact ROC curve, from the highest threshold to the lowest.
+    static double[][] rocPoints(double[] yExact, double[] yApprox) {
+        int numPos = 0;
+        for (double y : yExact) {
+            if (Math.round(y) == 1) {
+                numPos++;
+            }
+        }
+
+        double[] pos = new double[numPos];
+        double[] neg = new double[yExact.length - numPos];
+        int p = 0;
+        int q = 0;
+        for (int i = 0; i < yExact.length; i++) {
+            if (Double.isNaN(yApprox[i])) {
+                throw new IllegalArgumentException("The predicted values must not be NaN!");
+            }
+            if (Math.round(yExact[i]) == 1) {
+                pos[p++] = yApprox[i];
+            }
+            else {
+                neg[q++] = yApprox[i];
+            }
+        }
+
+        //Arrays.parallelSort only splits the work when the arrays are large
+        Arrays.parallelSort(pos);
+        Arrays.parallelSort(neg);
+
+        double[] fpr = new double[pos.length + neg.length + 1];
+        double[] tpr = new double[fpr.length];
+        int n = 1;
+        p = pos.length - 1;
+        q = neg.length - 1;
+
+        while (p >= 0 || q >= 0) {
+            double threshold;
+            if (p < 0) {
+                threshold = neg[q];
+            }
+            else if (q < 0) {
+                threshold = pos[p];
+            }
+            else {
+                threshold = Math.max(pos[p], neg[q]);
+            }
+
+            while (p >= 0 && pos[p] == threshold) {
+                p--;
+            }
+            while (q >= 0 && neg[q] == threshold) {
+                q--;
+            }
+
+            fpr[n] = neg.length == 0 ? 0.0 : (double) (neg.length - 1 - q) / neg.length;
+            tpr[n] = pos.length == 0 ? 0.0 : (double) (pos.length - 1 - p) / pos.length;
+            n++;
+        }
+
+        return new double[][]{Arrays.copyOf(fpr, n), Arrays.copyOf(tpr, n)};
+    }
+
     public static double[] quickModelEval (Matrix xTest, Matrix yTest, Matrix w, Function[] fnc) {
+        ClassificationReport report = classificationReport(xTest, yTest, w, fnc);
         double[] metrics = new double[2];
-        Matrix roc = getROCCurve(xTest, yTest, w, fnc);
-        metrics[0] = accuracy(confusionMatrix(xTest, yTest, w, fnc));
-        metrics[1] = getAUC(LinearAlgebra.vectorFromColumn(roc, 2), LinearAlgebra.vectorFromColumn(roc, 1));
+        metrics[0] = report.getAccuracy();
+        metrics[1] = report.getAUC();
         System.out.println("Accuracy: " + String.format("%.4f", metrics[0]) + " | AUC: " + String.format("%.4f", metrics[1]));
         return metrics;
     }
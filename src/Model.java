@@ -1,3 +1,8 @@
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.Function;
 
 /**
@@ -8,10 +13,20 @@ import java.util.function.Function;
  * @since 1.0
  */
 public abstract class Model {
+    //The number of samples scored by a single task when scoring in parallel.
+    protected static final int BLOCK_SIZE = 1024;
+
     protected double learningRate = 0.001;
     protected Function<Double, Double>[] basisFunctions;
+    protected BasisFunction[] basis;
     protected Matrix weights;
+    protected double[] weightValues;
     protected boolean trained = false;
+    protected int parallelism = 1;
+    protected ForkJoinPool pool;
+    protected final List<TrainingListener> listeners = new CopyOnWriteArrayList<>();
+    protected EarlyStopping stopping;
+    private final AtomicLong version = new AtomicLong();
 
     /**
      * Creates a machine learning model object from the data provided.
@@ -26,6 +41,7 @@ public abstract class Model {
         }
         this.learningRate = learningRate;
         this.basisFunctions = basisFunctions;
+        this.basis = BasisFunction.of(basisFunctions);
     }
 
     /**
@@ -43,8 +59,10 @@ public abstract class Model {
      * @param learningRate The value that the learning rate will be set to.
      */
     public void setLearningRate(double learningRate) {
+        modifying();
         this.learningRate = learningRate;
         trained = false;
+        modified();
     }
 
     /**
@@ -62,8 +80,86 @@ public abstract class Model {
      * @param basisFunctions The set of functions that the model's basis functions will be set to.
      */
     public void setBasisFunctions(Function<Double, Double>[] basisFunctions) {
+        modifying();
         this.basisFunctions = basisFunctions;
+        this.basis = BasisFunction.of(basisFunctions);
         trained = false;
+        modified();
+    }
+
+    /**
+     * Returns the number of threads used when predicting the labels for a set of samples.
+     *
+     * @return The number of threads used when predicting the labels for a set of samples.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the number of threads used when predicting the labels for a set of samples. A value of 1 predicts the
+     * labels on the calling thread.
+     *
+     * @param parallelism The number of threads used when predicting the labels for a set of samples.
+     * @throws IllegalArgumentException If the parallelism is less than 1.
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1!");
+        }
+        if (pool != null) {
+            pool.shutdown();
+        }
+
+        this.parallelism = parallelism;
+        pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+    }
+
+    /**
+     * Adds a listener that will receive a report after every iteration or epoch of training.
+     *
+     * @param listener The listener to add.
+     */
+    public void addTrainingListener(TrainingListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a training listener from the model.
+     *
+     * @param listener The listener to remove.
+     */
+    public void removeTrainingListener(TrainingListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Sets the conditions under which training stops before the solver has used all of its iterations or epochs.
+     *
+     * @param stopping The stopping conditions, or null to always train for the full number of iterations.
+     */
+    public void setEarlyStopping(EarlyStopping stopping) {
+        this.stopping = stopping;
+    }
+
+    /**
+     * Returns the conditions under which training stops early.
+     *
+     * @return The stopping conditions, or null if training always uses every iteration.
+     */
+    public EarlyStopping getEarlyStopping() {
+        return stopping;
+    }
+
+    /**
+     * Returns a number that changes whenever the model's predictions may change, such as after training or after
+     * its basis functions are set. Caches of the model's predictions use it to tell when they are out of date. The
+     * version is odd while a change is in progress and even once it is complete.
+     *
+     * @return The model's version.
+     */
+    public long getVersion() {
+        return version.get();
     }
 
     /**
@@ -87,8 +183,105 @@ public abstract class Model {
             throw new IllegalArgumentException("The data does not have one sample for each label! There are " + X.getRows() + " samples and " + y.getRows() + " samples!");
         }
 
-        trained = true;
-        trainProtected(X, y, generateW0(X.getCols() * (basisFunctions.length - 1) + 1));
+        TrainingPhaseEvent event = beginPhase("train", X.getRows());
+        modifying();
+        try {
+            trainProtected(X, y, generateW0(numWeights(X.getCols())));
+            weightValues = weights.getCol(1);
+            trained = true;
+        }
+        finally {
+            modified();
+        }
+        event.commit();
+    }
+
+    /**
+     * Trains the model using the model's parameters and the data set provided. The data set's samples are used
+     * directly, without being copied into a matrix.
+     *
+     * @param data The samples and labels to train on.
+     * @throws IllegalArgumentException If the data set is empty.
+     */
+    public void train(Dataset data) {
+        if (data.size() == 0) {
+            throw new IllegalArgumentException("The data set is empty!");
+        }
+
+        TrainingPhaseEvent event = beginPhase("train", data.size());
+        modifying();
+        try {
+            trainProtected(data.rows(), data.labels(), generateW0(numWeights(data.getNumFeatures())).getCol(1));
+            weightValues = weights.getCol(1);
+            trained = true;
+        }
+        finally {
+            modified();
+        }
+        event.commit();
+    }
+
+    /**
+     * Trains the model using samples stored in a sparse matrix. Models and solvers that support sparse samples only
+     * visit their non-zero features; others train on a dense copy.
+     *
+     * @param X The parameter values for a set of samples, one sample per row.
+     * @param y A vector of data labels.
+     * @throws IllegalArgumentException If each sample does not have a label.
+     */
+    public void train(SparseMatrix X, Matrix y) {
+        if (X.getRows() != y.getRows()) {
+            throw new IllegalArgumentException("The data does not have one sample for each label! There are " + X.getRows() + " samples and " + y.getRows() + " samples!");
+        }
+
+        TrainingPhaseEvent event = beginPhase("train", X.getRows());
+        modifying();
+        try {
+            trainProtected(X, y.getCol(1), generateW0(numWeights(X.getCols())).getCol(1));
+            weightValues = weights.getCol(1);
+            trained = true;
+        }
+        finally {
+            modified();
+        }
+        event.commit();
+    }
+
+    /**
+     * Continues training the model from its current weights using the data provided. If the model is untrained,
+     * including after its learning rate or basis functions are set, training starts from the model's initial guess
+     * instead, since any old weights belong to the previous settings.
+     *
+     * @param X A matrix of data parameters.
+     * @param y A vector of data labels.
+     * @throws IllegalArgumentException If each sample does not have a label.
+     * @throws IllegalArgumentException If the samples do not have the number of features the model was trained on.
+     */
+    public void partialFit(Matrix X, Matrix y) {
+        if (X.getRows() != y.getRows()) {
+            throw new IllegalArgumentException("The data does not have one sample for each label! There are " + X.getRows() + " samples and " + y.getRows() + " samples!");
+        }
+
+        Matrix w0;
+        if (weights == null || !trained) {
+            w0 = generateW0(numWeights(X.getCols()));
+        }
+        else {
+            checkFeatures(X.getCols());
+            w0 = weights;
+        }
+
+        TrainingPhaseEvent event = beginPhase("partialFit", X.getRows());
+        modifying();
+        try {
+            trainProtected(X, y, w0);
+            weightValues = weights.getCol(1);
+            trained = true;
+        }
+        finally {
+            modified();
+        }
+        event.commit();
     }
 
     /**
@@ -96,13 +289,15 @@ public abstract class Model {
      *
      * @param sample The parameter values of a single sample
      * @throws IllegalArgumentException If the model is untrained.
+     * @throws IllegalArgumentException If the sample does not have the number of features the model was trained on.
      */
     public double predict(double[] sample) {
         if (!trained) {
             throw new IllegalStateException("The model is not trained!");
         }
+        checkFeatures(sample.length);
 
-        return predictProtected(new Matrix(sample)).getValue(1, 1);
+        return predictSample(sample);
     }
 
     /**
@@ -124,31 +319,119 @@ public abstract class Model {
     }
 
     /**
-     * Predicts the labels for a set of samples.
+     * Predicts the labels for a set of samples. If the model's parallelism is greater than 1, the samples are split
+     * into blocks that are predicted in parallel.
      *
      * @param sample The parameter values for a set of samples.
      * @throws IllegalArgumentException If the model is untrained.
+     * @throws IllegalArgumentException If a sample does not have the number of features the model was trained on.
      */
     public Matrix predictMultipleSamples(double[][] sample) {
+        double[] out = new double[sample.length];
+        predictMultipleSamples(sample, out);
+        return new Matrix(out);
+    }
+
+    /**
+     * Predicts the labels for a set of samples. If the model's parallelism is greater than 1, the samples are split
+     * into blocks that are predicted in parallel.
+     *
+     * @param sample The parameter values for a set of samples.
+     * @throws IllegalArgumentException If the model is untrained.
+     * @throws IllegalArgumentException If a sample does not have the number of features the model was trained on.
+     */
+    public Matrix predictMultipleSamples(Matrix sample) {
+        return predictMultipleSamples(sample.getMatrix());
+    }
+
+    /**
+     * Predicts the labels for a set of samples and writes them to the array provided. If the model's parallelism is
+     * greater than 1, the samples are split into blocks that are predicted in parallel.
+     *
+     * @param sample The parameter values for a set of samples, one sample per row.
+     * @param out The array the labels will be written to.
+     * @throws IllegalArgumentException If the model is untrained.
+     * @throws IllegalArgumentException If the output array does not have one entry for each sample.
+     * @throws IllegalArgumentException If the samples do not have the number of features the model was trained on.
+     */
+    public void predictMultipleSamples(double[][] sample, double[] out) {
         if (!trained) {
             throw new IllegalStateException("The model is not trained!");
         }
+        if (out.length != sample.length) {
+            throw new IllegalArgumentException("The output must have one entry for each sample! There are " + sample.length + " samples and " + out.length + " entries!");
+        }
+        if (sample.length == 0) {
+            return;
+        }
+        checkFeatures(sample[0].length);
+        for (double[] row : sample) {
+            if (row.length != sample[0].length) {
+                throw new IllegalArgumentException("Every sample must have the same number of features!");
+            }
+        }
 
-        return predictProtected(new Matrix(sample));
+        if (pool == null || sample.length <= BLOCK_SIZE) {
+            for (int i = 0; i < sample.length; i++) {
+                out[i] = predictSample(sample[i]);
+            }
+        }
+        else {
+            pool.invoke(new ScoringTask(sample, out, 0, sample.length));
+        }
     }
 
     /**
-     * Predicts the labels for a set of samples.
+     * Predicts the labels for every sample of a data set and writes them to the array provided.
      *
-     * @param sample The parameter values for a set of samples.
+     * @param data The samples to predict the labels of.
+     * @param out The array the labels will be written to.
      * @throws IllegalArgumentException If the model is untrained.
+     * @throws IllegalArgumentException If the output array does not have one entry for each sample.
      */
-    public Matrix predictMultipleSamples(Matrix sample) {
+    public void predictMultipleSamples(Dataset data, double[] out) {
+        predictMultipleSamples(data.rows(), out);
+    }
+
+    /**
+     * Predicts the labels for a set of samples stored in a sparse matrix.
+     *
+     * @param sample The parameter values for a set of samples, one sample per row.
+     * @return A vector of the predicted labels.
+     * @throws IllegalArgumentException If the model is untrained.
+     * @throws IllegalArgumentException If the samples do not have the number of features the model was trained on.
+     */
+    public Matrix predictMultipleSamples(SparseMatrix sample) {
+        double[] out = new double[sample.getRows()];
+        predictMultipleSamples(sample, out);
+        return new Matrix(out);
+    }
+
+    /**
+     * Predicts the labels for a set of samples stored in a sparse matrix and writes them to the array provided. If
+     * the model's parallelism is greater than 1, the samples are split into blocks that are predicted in parallel.
+     *
+     * @param sample The parameter values for a set of samples, one sample per row.
+     * @param out The array the labels will be written to.
+     * @throws IllegalArgumentException If the model is untrained.
+     * @throws IllegalArgumentException If the output array does not have one entry for each sample.
+     * @throws IllegalArgumentException If the samples do not have the number of features the model was trained on.
+     */
+    public void predictMultipleSamples(SparseMatrix sample, double[] out) {
         if (!trained) {
             throw new IllegalStateException("The model is not trained!");
         }
+        if (out.length != sample.getRows()) {
+            throw new IllegalArgumentException("The output must have one entry for each sample! There are " + sample.getRows() + " samples and " + out.length + " entries!");
+        }
+        checkFeatures(sample.getCols());
 
-        return predictProtected(sample);
+        if (pool == null || sample.getRows() <= BLOCK_SIZE) {
+            predictSamples(sample, 0, sample.getRows(), out);
+        }
+        else {
+            pool.invoke(new SparseScoringTask(sample, out, 0, sample.getRows()));
+        }
     }
 
     /**
@@ -167,35 +450,237 @@ public abstract class Model {
         Metrics.printClassificationReport(y, yApprox);
     }
 
-    //ToDo: Have it return a Function
+    /**
+     * Creates the classification report for the model's performance, scoring the samples once.
+     *
+     * @param X The set of sample parameters.
+     * @param y The set of sample labels.
+     * @return The classification report for the model's performance.
+     * @throws IllegalArgumentException If the model is untrained.
+     */
+    public ClassificationReport classificationReport(Matrix X, Matrix y) {
+        if (!trained) {
+            throw new IllegalStateException("The model is not trained!");
+        }
+
+        return new ClassificationReport(y, predictMultipleSamples(X));
+    }
+
+    /**
+     * Compiles the trained model into a scorer with the model's current weights and basis functions fixed. The scorer
+     * is immutable and thread-safe, and later training does not change it. Models whose prediction is a function of
+     * the basis expansion return a scorer specialized to the shape of the expansion, so the hot loop is smaller than
+     * the one behind {@link #predict(double[])}.
+     *
+     * @return A scorer that makes the same predictions as the model.
+     * @throws IllegalStateException If the model is untrained.
+     */
+    public Scorer compile() {
+        if (!trained) {
+            throw new IllegalStateException("The model is not trained!");
+        }
+
+        return compileProtected();
+    }
 
     //Calculates the values for a function at the provided points using the functions and weights provided.
     protected Matrix buildFunction(Matrix X) {
-        Matrix temp = LinearAlgebra.vectorFromColumn(X, 1);
-        Matrix y = LinearAlgebra.scaleMatrix(LinearAlgebra.applyFunction(temp, basisFunctions[0]), weights.getValue(1, 1)); //y = [1; 1; ...; 1]
+        return new Matrix(buildFunctionValues(X));
+    }
+
+    //Calculates the values for a function at the provided points without wrapping them in a matrix.
+    protected double[] buildFunctionValues(Matrix X) {
+        return BasisExpansion.evaluate(X.getMatrix(), weightValues, basis);
+    }
+
+    //Calculates the values for a function at points stored in a sparse matrix, visiting only the non-zero features.
+    protected double[] buildFunctionValues(SparseMatrix X) {
+        return BasisExpansion.evaluate(X, weightValues, basis);
+    }
+
+    //Creates a monitor that reports a training run to the model's listeners and to JFR, and applies early stopping.
+    protected TrainingMonitor monitor() {
+        return new TrainingMonitor(getClass().getSimpleName(), listeners, stopping, this::validationLoss);
+    }
+
+    //Computes the loss of a set of weights on the early stopping validation set.
+    protected double validationLoss(double[] w) {
+        Dataset validation = stopping.getValidation();
+        int n = validation.size();
+        double[] labels = validation.labels();
+        double[] scores = new double[n];
 
-        //Removing the bias from basis functions
-        Function[] fncs = new Function[basisFunctions.length - 1];
-        for (int i = 0; i < fncs.length; i++) {
-            fncs[i] = basisFunctions[i + 1];
+        for (int i = 0; i < n; i++) {
+            scores[i] = predictSample(validation.getFeatures(i), w);
         }
 
-        for (int i = 0; i < fncs.length; i++) {
-            for (int j = 1; j <= X.getCols(); j++) {
-                temp = LinearAlgebra.vectorFromColumn(X, j);
-                y = LinearAlgebra.addMatrices(y, LinearAlgebra.applyFunction(temp, fncs[i]), weights.getValue((j - 1) * (fncs.length) + i + 2, 1));
+        if (stopping.getMetric() == EarlyStopping.Metric.MEAN_SQUARED) {
+            return Metrics.meanSquared(labels, scores);
+        }
+
+        double sum = 0.0;
+        for (int i = 0; i < n; i++) {
+            sum += LogisticLoss.logLoss(labels[i], scores[i]);
+        }
+
+        return sum / n;
+    }
+
+    //Starts the JFR event covering a training call.
+    private TrainingPhaseEvent beginPhase(String phase, int samples) {
+        TrainingPhaseEvent event = new TrainingPhaseEvent();
+        event.model = getClass().getSimpleName();
+        event.phase = phase;
+        event.samples = samples;
+        event.begin();
+        return event;
+    }
+
+    //Marks the start of a change to the model's predictions, leaving the version odd until modified() is called. Every
+    //call must be followed by one to modified(), even if the change fails.
+    protected void modifying() {
+        version.incrementAndGet();
+    }
+
+    //Marks the end of a change to the model's predictions, making the version even again.
+    protected void modified() {
+        version.incrementAndGet();
+    }
+
+    //Sets the weights of a model that was trained elsewhere, such as one loaded from a file.
+    protected void restore(double[] weights) {
+        modifying();
+        this.weights = new Matrix(weights);
+        weightValues = weights.clone();
+        trained = true;
+        modified();
+    }
+
+    //The number of weights the model needs for samples with the given number of features.
+    protected int numWeights(int numFeatures) {
+        return BasisExpansion.numWeights(numFeatures, basis.length);
+    }
+
+    //Throws an exception if a sample with the given number of features cannot be used with the model's weights.
+    private void checkFeatures(int numFeatures) {
+        if (numWeights(numFeatures) != weightValues.length) {
+            throw new IllegalArgumentException("The sample does not have the number of features the model was trained on!");
+        }
+    }
+
+    //Predicts the labels for a range of sparse samples, splitting the range until it is at most one block long.
+    private class SparseScoringTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final SparseMatrix sample;
+        private final double[] out;
+        private final int start;
+        private final int end;
+
+        private SparseScoringTask(SparseMatrix sample, double[] out, int start, int end) {
+            this.sample = sample;
+            this.out = out;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= BLOCK_SIZE) {
+                predictSamples(sample, start, end, out);
+                return;
             }
+
+            int mid = (start + end) >>> 1;
+            invokeAll(new SparseScoringTask(sample, out, start, mid), new SparseScoringTask(sample, out, mid, end));
         }
+    }
+
+    //Predicts the labels for a range of samples, splitting the range until it is at most one block long.
+    private class ScoringTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final double[][] sample;
+        private final double[] out;
+        private final int start;
+        private final int end;
+
+        private ScoringTask(double[][] sample, double[] out, int start, int end) {
+            this.sample = sample;
+            this.out = out;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= BLOCK_SIZE) {
+                for (int i = start; i < end; i++) {
+                    out[i] = predictSample(sample[i]);
+                }
+                return;
+            }
 
-        return y;
+            int mid = (start + end) >>> 1;
+            invokeAll(new ScoringTask(sample, out, start, mid), new ScoringTask(sample, out, mid, end));
+        }
     }
 
     //Actual method for predicting a sample's label
     protected abstract Matrix predictProtected(Matrix x);
 
+    //Predicts the label of a single sample without allocating. Must be safe to call from multiple threads.
+    protected double predictSample(double[] x) {
+        return predictSample(x, weightValues);
+    }
+
+    //Predicts the label of a single sample using the weights provided instead of the model's.
+    protected double predictSample(double[] x, double[] w) {
+        return predictSample(x, w, basis);
+    }
+
+    //Predicts the label of a single sample using the weights and basis functions provided instead of the model's.
+    //Must not read any other state that changes when the model is retrained.
+    protected abstract double predictSample(double[] x, double[] w, BasisFunction[] fncs);
+
+    //Predicts the labels for a range of rows of a sparse matrix. Models whose prediction is a function of the basis
+    //expansion should override this to skip the zero features; by default each row is expanded to a dense sample.
+    protected void predictSamples(SparseMatrix X, int start, int end, double[] out) {
+        double[] row = new double[X.getCols()];
+        for (int i = start; i < end; i++) {
+            X.copyRow(i, row);
+            out[i] = predictSample(row);
+        }
+    }
+
     //Actual method for tor training the model
     protected abstract void trainProtected(Matrix x, Matrix y, Matrix w0);
 
+    //Trains the model from arrays. Models that can train without building matrices should override this.
+    protected void trainProtected(double[][] x, double[] y, double[] w0) {
+        trainProtected(new Matrix(x), new Matrix(y), new Matrix(w0));
+    }
+
+    //Trains the model from a sparse matrix. Models that can train on sparse samples directly should override this.
+    protected void trainProtected(SparseMatrix x, double[] y, double[] w0) {
+        trainProtected(x.toDense(), y, w0);
+    }
+
+    //Creates the model's scorer. By default it predicts through predictSample with copies of the weights and basis
+    //functions, so models that keep other state used by predictSample, or that have more than one weight for each
+    //term of the basis expansion, should override this.
+    protected Scorer compileProtected() {
+        double[] w = weightValues.clone();
+        BasisFunction[] fncs = basis.clone();
+        return (x) -> {
+            if (BasisExpansion.numWeights(x.length, fncs.length) != w.length) {
+                throw new IllegalArgumentException("The sample does not have the number of features the model was trained on!");
+            }
+
+            return predictSample(x, w, fncs);
+        };
+    }
+
     //Generates an initial guess for the model's weights
     protected abstract Matrix generateW0(int n);
 
@@ -0,0 +1,304 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A trained model saved in a compact binary format, together with its preprocessing steps and metadata.
+ * <p>
+ *     The file holds, in order: a magic number and format version, the model type, the learning rate, the number of
+ *     outputs (the number of classes of a {@link SoftmaxClassifier}, otherwise 1), the scoring options (whether a
+ *     {@link LogRegClassifier} uses the fast sigmoid), the names of the basis functions (see {@link BasisFunctions}),
+ *     the weights, the fitted statistics of each preprocessing step, and a set of string
+ *     metadata. Files are loaded by memory mapping them read only, so loading is a single pass over the mapped bytes
+ *     and processes loading the same file share its pages.
+ * </p>
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+public class ModelFile {
+    private static final int MAGIC = 0x4D4C4D44; //"MLMD"
+    private static final int VERSION = 3;
+
+    //Bits of the scoring options byte
+    private static final byte FAST_SIGMOID = 1;
+
+    private static final byte IMPUTER = 0;
+    private static final byte MIN_MAX_SCALER = 1;
+    private static final byte STANDARD_SCALER = 2;
+
+    private final Model model;
+    private final Transformer[] preprocessing;
+    private final Map<String, String> metadata;
+
+    private ModelFile(Model model, Transformer[] preprocessing, Map<String, String> metadata) {
+        this.model = model;
+        this.preprocessing = preprocessing;
+        this.metadata = Collections.unmodifiableMap(metadata);
+    }
+
+    /**
+     * Returns the trained model.
+     *
+     * @return The trained model.
+     */
+    public Model getModel() {
+        return model;
+    }
+
+    /**
+     * Returns the fitted preprocessing steps, in the order they should be applied.
+     *
+     * @return The fitted preprocessing steps.
+     */
+    public Transformer[] getPreprocessing() {
+        return preprocessing.clone();
+    }
+
+    /**
+     * Returns the metadata saved with the model.
+     *
+     * @return The metadata saved with the model.
+     */
+    public Map<String, String> getMetadata() {
+        return metadata;
+    }
+
+    /**
+     * Saves a trained model to a file.
+     *
+     * @param file The name of the file the model will be written to.
+     * @param model The trained model.
+     * @param preprocessing The fitted preprocessing steps, in the order they should be applied.
+     * @param metadata Any information that should be saved with the model, such as when it was trained.
+     * @throws IllegalStateException If the model is untrained or a preprocessing step is not fitted.
+     * @throws IllegalArgumentException If a basis function is not registered or a preprocessing step is unsupported.
+     * @throws UncheckedIOException If the file cannot be written.
+     */
+    public static void write(String file, Model model, Transformer[] preprocessing, Map<String, String> metadata) {
+        if (!model.trained) {
+            throw new IllegalStateException("The model is not trained!");
+        }
+
+        //Checking everything can be saved before the file is created
+        Function<Double, Double>[] fncs = model.getBasisFunctions();
+        String[] names = new String[fncs.length];
+        for (int i = 0; i < fncs.length; i++) {
+            names[i] = BasisFunctions.nameOf(fncs[i]);
+        }
+        byte[] types = new byte[preprocessing.length];
+        for (int i = 0; i < preprocessing.length; i++) {
+            types[i] = typeOf(preprocessing[i]);
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            writeString(out, model.getClass().getSimpleName());
+            out.writeDouble(model.getLearningRate());
+            out.writeInt(model instanceof SoftmaxClassifier ? ((SoftmaxClassifier) model).getNumClasses() : 1);
+            out.writeByte(model instanceof LogRegClassifier && ((LogRegClassifier) model).isFastSigmoid() ? FAST_SIGMOID : 0);
+
+            out.writeInt(names.length);
+            for (String name : names) {
+                writeString(out, name);
+            }
+
+            out.writeInt(model.weightValues.length);
+            for (double w : model.weightValues) {
+                out.writeDouble(w);
+            }
+
+            out.writeInt(preprocessing.length);
+            for (int i = 0; i < preprocessing.length; i++) {
+                ColumnStats stats = preprocessing[i].getStats();
+                out.writeByte(types[i]);
+                out.writeInt(stats.getNumCols());
+                out.writeLong(stats.getCount());
+                for (int j = 0; j < stats.getNumCols(); j++) {
+                    out.writeDouble(stats.getMean(j));
+                    out.writeDouble(stats.getStDev(j));
+                    out.writeDouble(stats.getMin(j));
+                    out.writeDouble(stats.getMax(j));
+                }
+            }
+
+            out.writeInt(metadata.size());
+            for (Map.Entry<String, String> entry : metadata.entrySet()) {
+                writeString(out, entry.getKey());
+                writeString(out, entry.getValue());
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Loads a model that was saved with {@link #write(String, Model, Transformer[], Map)}.
+     *
+     * @param file The name of the file containing the model.
+     * @return The saved model, preprocessing steps and metadata.
+     * @throws IllegalArgumentException If the file is not a model file, was written by a newer version, is truncated
+     *              or corrupt, or uses an unknown model type or basis function.
+     * @throws UncheckedIOException If the file cannot be read.
+     */
+    public static ModelFile load(String file) {
+        try (FileChannel channel = FileChannel.open(Paths.get(file), StandardOpenOption.READ)) {
+            ByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buf.remaining() < 8 || buf.getInt() != MAGIC) {
+                throw new IllegalArgumentException(file + " is not a model file!");
+            }
+            int version = buf.getInt();
+            if (version < 1) {
+                throw new IllegalArgumentException(file + " has an invalid format version " + version + "!");
+            }
+            if (version > VERSION) {
+                throw new IllegalArgumentException(file + " was written with format version " + version + ", but only versions up to " + VERSION + " can be read!");
+            }
+
+            String type = readString(buf);
+            double learningRate = buf.getDouble();
+            //Version 1 files were written before models could have more than one output
+            int outputs = version >= 2 ? buf.getInt() : 1;
+            //Version 2 files were written before the fast sigmoid, so their models score exactly
+            byte options = version >= 3 ? buf.get() : 0;
+
+            BasisFunction[] fncs = new BasisFunction[readCount(buf, Integer.BYTES)];
+            for (int i = 0; i < fncs.length; i++) {
+                fncs[i] = BasisFunctions.get(readString(buf));
+            }
+
+            double[] weights = new double[readCount(buf, Double.BYTES)];
+            buf.asDoubleBuffer().get(weights);
+            buf.position(buf.position() + weights.length * Double.BYTES);
+
+            Transformer[] preprocessing = new Transformer[readCount(buf, Byte.BYTES + Integer.BYTES + Long.BYTES)];
+            for (int i = 0; i < preprocessing.length; i++) {
+                preprocessing[i] = readTransformer(buf);
+            }
+
+            int numEntries = readCount(buf, 2 * Integer.BYTES);
+            Map<String, String> metadata = new LinkedHashMap<>();
+            for (int i = 0; i < numEntries; i++) {
+                metadata.put(readString(buf), readString(buf));
+            }
+
+            Model model = createModel(type, learningRate, fncs, outputs);
+            if ((options & FAST_SIGMOID) != 0 && model instanceof LogRegClassifier) {
+                ((LogRegClassifier) model).setFastSigmoid(true);
+            }
+            model.restore(weights);
+
+            return new ModelFile(model, preprocessing, metadata);
+        }
+        catch (BufferUnderflowException | NegativeArraySizeException e) {
+            throw new IllegalArgumentException(file + " is truncated or corrupt!", e);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    //Reads the number of items that follow, each taking at least the given number of bytes. Throws a
+    //BufferUnderflowException if the count is negative or more items than that could fit in the rest of the file.
+    private static int readCount(ByteBuffer buf, int minBytes) {
+        int count = buf.getInt();
+        if (count < 0 || (long) count * minBytes > buf.remaining()) {
+            throw new BufferUnderflowException();
+        }
+
+        return count;
+    }
+
+    //Creates an untrained model of the type provided.
+    private static Model createModel(String type, double learningRate, BasisFunction[] fncs, int outputs) {
+        switch (type) {
+            case "LogRegClassifier":
+                return new LogRegClassifier(learningRate, fncs);
+            case "SoftmaxClassifier":
+                return new SoftmaxClassifier(fncs, outputs);
+            default:
+                throw new IllegalArgumentException("Unknown model type " + type + "!");
+        }
+    }
+
+    private static byte typeOf(Transformer transformer) {
+        if (!transformer.isFitted()) {
+            throw new IllegalStateException("Every preprocessing step must be fitted!");
+        }
+        if (transformer instanceof Imputer) {
+            return IMPUTER;
+        }
+        if (transformer instanceof Scaler) {
+            return ((Scaler) transformer).getType() == Scaler.Type.MIN_MAX ? MIN_MAX_SCALER : STANDARD_SCALER;
+        }
+
+        throw new IllegalArgumentException("Preprocessing steps of type " + transformer.getClass().getSimpleName() + " cannot be saved!");
+    }
+
+    private static Transformer readTransformer(ByteBuffer buf) {
+        byte type = buf.get();
+        int numCols = buf.getInt();
+        long n = buf.getLong();
+        if (numCols < 0 || (long) numCols * 4 * Double.BYTES > buf.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        double[] mean = new double[numCols];
+        double[] stDev = new double[numCols];
+        double[] min = new double[numCols];
+        double[] max = new double[numCols];
+
+        for (int j = 0; j < numCols; j++) {
+            mean[j] = buf.getDouble();
+            stDev[j] = buf.getDouble();
+            min[j] = buf.getDouble();
+            max[j] = buf.getDouble();
+        }
+
+        Transformer transformer;
+        switch (type) {
+            case IMPUTER:
+                transformer = new Imputer();
+                break;
+            case MIN_MAX_SCALER:
+                transformer = new Scaler(Scaler.Type.MIN_MAX);
+                break;
+            case STANDARD_SCALER:
+                transformer = new Scaler(Scaler.Type.STANDARD);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown preprocessing step type " + type + "!");
+        }
+        transformer.fit(new ColumnStats(n, mean, stDev, min, max));
+
+        return transformer;
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buf) {
+        byte[] bytes = new byte[readCount(buf, Byte.BYTES)];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
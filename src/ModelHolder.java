@@ -0,0 +1,138 @@
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Holds the model snapshot currently used for scoring and swaps in new ones atomically.
+ * <p>
+ *     Readers get the current {@link ModelSnapshot} with a single volatile read and score with it without locking.
+ *     A retrained model is published by taking a snapshot of it and swapping that in, after which new requests use the
+ *     new snapshot while requests already holding the old one finish with it. Since snapshots are immutable, a reader
+ *     sees either the whole old model or the whole new one, never a mix. Retraining should happen on a model that is
+ *     not being published, and it can safely be the same model object once its snapshot has been taken.
+ * </p>
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+public class ModelHolder {
+    private final AtomicReference<ModelSnapshot> current;
+
+    /**
+     * Creates a holder that starts with a snapshot of the model provided.
+     *
+     * @param model The trained model to publish first.
+     * @throws IllegalStateException If the model is untrained.
+     */
+    public ModelHolder(Model model) {
+        this(ModelSnapshot.of(model));
+    }
+
+    /**
+     * Creates a holder that starts with the snapshot provided.
+     *
+     * @param snapshot The snapshot to publish first.
+     * @throws IllegalArgumentException If the snapshot is null.
+     */
+    public ModelHolder(ModelSnapshot snapshot) {
+        if (snapshot == null) {
+            throw new IllegalArgumentException("The snapshot must not be null!");
+        }
+
+        current = new AtomicReference<>(snapshot);
+    }
+
+    /**
+     * Returns the snapshot currently published. Callers that score several samples together should get the snapshot
+     * once, so every sample is scored by the same model.
+     *
+     * @return The current snapshot.
+     */
+    public ModelSnapshot get() {
+        return current.get();
+    }
+
+    /**
+     * Predicts the label of a single sample with the current snapshot.
+     *
+     * @param sample The parameter values of a single sample.
+     * @return The prediction of the current snapshot.
+     * @throws IllegalArgumentException If the sample does not have the number of features the model was trained on.
+     */
+    public double predict(double[] sample) {
+        return current.get().predict(sample);
+    }
+
+    /**
+     * Predicts the labels for a set of samples with the current snapshot, using the same snapshot for every sample.
+     *
+     * @param samples The parameter values for a set of samples, one sample per row.
+     * @param out The array the labels will be written to.
+     * @throws IllegalArgumentException If the output array does not have one entry for each sample.
+     * @throws IllegalArgumentException If a sample does not have the number of features the model was trained on.
+     */
+    public void predict(double[][] samples, double[] out) {
+        current.get().predict(samples, out);
+    }
+
+    /**
+     * Takes a snapshot of a trained model and publishes it.
+     *
+     * @param model The trained model.
+     * @return The snapshot that was replaced.
+     * @throws IllegalStateException If the model is untrained.
+     */
+    public ModelSnapshot publish(Model model) {
+        return swap(ModelSnapshot.of(model));
+    }
+
+    /**
+     * Publishes a snapshot.
+     *
+     * @param snapshot The snapshot to publish.
+     * @return The snapshot that was replaced.
+     * @throws IllegalArgumentException If the snapshot is null.
+     */
+    public ModelSnapshot swap(ModelSnapshot snapshot) {
+        if (snapshot == null) {
+            throw new IllegalArgumentException("The snapshot must not be null!");
+        }
+
+        return current.getAndSet(snapshot);
+    }
+
+    /**
+     * Publishes a snapshot only if the current snapshot is the one expected, so that two publishers cannot overwrite
+     * each other's snapshots unknowingly.
+     *
+     * @param expected The snapshot expected to be current.
+     * @param snapshot The snapshot to publish.
+     * @return If the snapshot was published.
+     * @throws IllegalArgumentException If the snapshot is null.
+     */
+    public boolean compareAndSwap(ModelSnapshot expected, ModelSnapshot snapshot) {
+        if (snapshot == null) {
+            throw new IllegalArgumentException("The snapshot must not be null!");
+        }
+
+        return current.compareAndSet(expected, snapshot);
+    }
+
+    /**
+     * Replaces the current snapshot with one computed from it, retrying if another publisher swaps first.
+     *
+     * @param update Computes the new snapshot from the current one.
+     * @return The snapshot that was published.
+     * @throws IllegalArgumentException If the update returns null.
+     */
+    public ModelSnapshot update(UnaryOperator<ModelSnapshot> update) {
+        return current.updateAndGet((snapshot) -> {
+            ModelSnapshot next = update.apply(snapshot);
+            if (next == null) {
+                throw new IllegalArgumentException("The snapshot must not be null!");
+            }
+            return next;
+        });
+    }
+
+}
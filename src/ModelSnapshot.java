@@ -0,0 +1,108 @@
+import java.lang.invoke.VarHandle;
+
+/**
+ * An immutable copy of a trained model, made for scoring.
+ * <p>
+ *     A snapshot holds the scorer compiled from the model, see {@link Model#compile()}, together with the model's
+ *     version at the time, so it owns its weights and basis functions and nothing done to the model afterwards, such as
+ *     retraining or setting its basis functions, changes its predictions. Every field is final, so a snapshot can be
+ *     shared between threads without locking. Snapshots are usually published through a {@link ModelHolder}.
+ * </p>
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+public final class ModelSnapshot {
+    private final Scorer scorer;
+    private final long version;
+    private final String modelName;
+
+    private ModelSnapshot(Scorer scorer, long version, String modelName) {
+        this.scorer = scorer;
+        this.version = version;
+        this.modelName = modelName;
+    }
+
+    /**
+     * Takes a snapshot of a trained model. If the model is being changed, or changes while the snapshot is being
+     * taken, it is taken again, so the snapshot always matches a single complete version of the model.
+     *
+     * @param model The trained model.
+     * @return The snapshot.
+     * @throws IllegalStateException If the model is untrained.
+     */
+    public static ModelSnapshot of(Model model) {
+        while (true) {
+            long version = model.getVersion();
+            if ((version & 1) != 0) {
+                //A change is in progress, which may be a whole training run, so give up the processor while waiting
+                Thread.yield();
+                continue;
+            }
+
+            Scorer scorer = model.compile();
+            //Keeps the reads made by compile from moving past the second check of the version
+            VarHandle.acquireFence();
+            if (model.getVersion() == version) {
+                return new ModelSnapshot(scorer, version, model.getClass().getSimpleName());
+            }
+        }
+    }
+
+    /**
+     * Predicts the label of a single sample.
+     *
+     * @param sample The parameter values of a single sample.
+     * @return The prediction of the model the snapshot was taken of.
+     * @throws IllegalArgumentException If the sample does not have the number of features the model was trained on.
+     */
+    public double predict(double[] sample) {
+        return scorer.score(sample);
+    }
+
+    /**
+     * Predicts the labels for a set of samples and writes them to the array provided.
+     *
+     * @param samples The parameter values for a set of samples, one sample per row.
+     * @param out The array the labels will be written to.
+     * @throws IllegalArgumentException If the output array does not have one entry for each sample.
+     * @throws IllegalArgumentException If a sample does not have the number of features the model was trained on.
+     */
+    public void predict(double[][] samples, double[] out) {
+        scorer.score(samples, out);
+    }
+
+    /**
+     * Returns the scorer that makes the snapshot's predictions.
+     *
+     * @return The snapshot's scorer.
+     */
+    public Scorer getScorer() {
+        return scorer;
+    }
+
+    /**
+     * Returns the version of the model when the snapshot was taken, see {@link Model#getVersion()}.
+     *
+     * @return The model's version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the name of the class of the model the snapshot was taken of.
+     *
+     * @return The name of the model's class.
+     */
+    public String getModelName() {
+        return modelName;
+    }
+
+    @Override
+    public String toString() {
+        return "ModelSnapshot{model=" + modelName + ", version=" + version + "}";
+    }
+
+}
@@ -0,0 +1,437 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Fits a logistic regression model using gradient descent spread across several threads.
+ * <p>
+ *     The samples are split into one shard per thread. In synchronous mode each iteration is one full batch gradient
+ *     descent step: every thread computes the gradient of its shard, the gradients are summed, and the weights are
+ *     updated once. In Hogwild mode each iteration is one epoch in which every thread runs stochastic gradient
+ *     descent over its shard, updating the shared weights without locking. Hogwild works best when each sample only
+ *     touches a few weights, such as with sparse features.
+ * </p>
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+public class ParallelGradientSolver implements LogisticSolver {
+
+    /**
+     * How the threads share their updates to the weights.
+     */
+    public enum Mode {
+        /** The gradients of every shard are summed before each update. */
+        SYNCHRONOUS,
+        /** Every thread updates the shared weights after each sample without locking. */
+        HOGWILD
+    }
+
+    private final int parallelism;
+    private final int iterations;
+    private final Mode mode;
+    private final long seed;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a synchronous parallel gradient descent solver that uses one thread per available processor.
+     *
+     * @param iterations The number of gradient descent steps.
+     */
+    public ParallelGradientSolver(int iterations) {
+        this(Runtime.getRuntime().availableProcessors(), iterations, Mode.SYNCHRONOUS, 0);
+    }
+
+    /**
+     * Creates a parallel gradient descent solver with its own pool of threads. The pool is created once and reused
+     * by every call to the solver; its idle threads exit on their own.
+     *
+     * @param parallelism The number of threads used for training.
+     * @param iterations The number of gradient descent steps in synchronous mode, or epochs in Hogwild mode.
+     * @param mode How the threads share their updates to the weights.
+     * @param seed The seed used to shuffle each shard in Hogwild mode.
+     * @throws IllegalArgumentException If the parallelism or number of iterations is less than 1.
+     */
+    public ParallelGradientSolver(int parallelism, int iterations, Mode mode, long seed) {
+        this(checkParallelism(parallelism), iterations, mode, seed, new ForkJoinPool(parallelism));
+    }
+
+    /**
+     * Creates a parallel gradient descent solver that trains on a pool shared with the rest of the application. The
+     * samples are split into one shard per thread of the pool, and the pool is never shut down by the solver.
+     *
+     * @param pool The pool the shards are trained on.
+     * @param iterations The number of gradient descent steps in synchronous mode, or epochs in Hogwild mode.
+     * @param mode How the threads share their updates to the weights.
+     * @param seed The seed used to shuffle each shard in Hogwild mode.
+     * @throws IllegalArgumentException If the number of iterations is less than 1.
+     */
+    public ParallelGradientSolver(ForkJoinPool pool, int iterations, Mode mode, long seed) {
+        this(pool.getParallelism(), iterations, mode, seed, pool);
+    }
+
+    private ParallelGradientSolver(int parallelism, int iterations, Mode mode, long seed, ForkJoinPool pool) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Iterations must be at least 1!");
+        }
+
+        this.parallelism = parallelism;
+        this.iterations = iterations;
+        this.mode = mode;
+        this.seed = seed;
+        this.pool = pool;
+    }
+
+    /**
+     * Returns the number of threads used for training.
+     *
+     * @return The number of threads used for training.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Returns how the threads share their updates to the weights.
+     *
+     * @return How the threads share their updates to the weights.
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    @Override
+    public double[] solve(double[][] X, double[] y, double[] w0, BasisFunction[] fncs, double learningRate, TrainingMonitor monitor) {
+        int n = X.length;
+        if (n == 0) {
+            return w0;
+        }
+        int shards = Math.min(parallelism, n);
+        monitor.begin(w0);
+
+        if (mode == Mode.SYNCHRONOUS) {
+            solveSynchronous(shards, X, y, w0, fncs, learningRate, monitor);
+        }
+        else {
+            solveHogwild(shards, X, y, w0, fncs, learningRate, monitor);
+        }
+
+        monitor.finish(w0);
+        return w0;
+    }
+
+    /**
+     * {@inheritDoc} In Hogwild mode each sample only touches the weights of its non-zero features and the bias, so
+     * updates from different threads rarely collide. Weights whose basis function is non-zero at 0 are affected by
+     * every sample, so each thread updates them once at the end of its pass over its shard instead.
+     */
+    @Override
+    public double[] solve(SparseMatrix X, double[] y, double[] w0, BasisFunction[] fncs, double learningRate, TrainingMonitor monitor) {
+        int n = X.getRows();
+        if (n == 0) {
+            return w0;
+        }
+        int shards = Math.min(parallelism, n);
+        monitor.begin(w0);
+
+        if (mode == Mode.SYNCHRONOUS) {
+            solveSynchronous(shards, X, y, w0, fncs, learningRate, monitor);
+        }
+        else {
+            solveHogwild(shards, X, y, w0, fncs, learningRate, monitor);
+        }
+
+        monitor.finish(w0);
+        return w0;
+    }
+
+    private void solveSynchronous(int shards, double[][] X, double[] y, double[] w, BasisFunction[] fncs, double learningRate, TrainingMonitor monitor) {
+        int n = X.length;
+        boolean report = monitor.isActive();
+        double[][] grads = new double[shards][w.length];
+        double[] losses = new double[shards];
+        double[] grad = report ? new double[w.length] : null;
+        List<Callable<Void>> tasks = new ArrayList<>();
+
+        for (int s = 0; s < shards; s++) {
+            int shard = s;
+            int start = shardStart(s, shards, n);
+            int end = shardStart(s + 1, shards, n);
+            double[] shardGrad = grads[s];
+
+            tasks.add(() -> {
+                double loss = 0.0;
+                for (int j = 0; j < shardGrad.length; j++) {
+                    shardGrad[j] = 0;
+                }
+                for (int i = start; i < end; i++) {
+                    double p = ActivationFunctions.sigmoid(BasisExpansion.evaluate(X[i], w, fncs));
+                    if (report) {
+                        loss += LogisticLoss.logLoss(y[i], p);
+                    }
+                    BasisExpansion.accumulate(X[i], p - y[i], fncs, shardGrad);
+                }
+                losses[shard] = loss;
+                return null;
+            });
+        }
+
+        double step = learningRate / n;
+        for (int it = 0; it < iterations; it++) {
+            runAll(tasks);
+
+            //Reducing the shards' gradients
+            for (int j = 0; j < w.length; j++) {
+                double sum = 0;
+                for (int s = 0; s < shards; s++) {
+                    sum += grads[s][j];
+                }
+                w[j] -= step * sum;
+                if (report) {
+                    grad[j] = sum / n;
+                }
+            }
+
+            //The loss and gradient are those of the weights before this step
+            if (report) {
+                double loss = 0.0;
+                for (double l : losses) {
+                    loss += l;
+                }
+                if (!monitor.iteration(it + 1, loss / n, LogisticLoss.norm(grad), w)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private void solveHogwild(int shards, double[][] X, double[] y, double[] w, BasisFunction[] fncs, double learningRate, TrainingMonitor monitor) {
+        int n = X.length;
+        boolean report = monitor.isActive();
+        double[] losses = new double[shards];
+        List<Callable<Void>> tasks = new ArrayList<>();
+
+        for (int s = 0; s < shards; s++) {
+            int start = shardStart(s, shards, n);
+            int end = shardStart(s + 1, shards, n);
+            Random random = new Random(seed + s);
+            int[] order = new int[end - start];
+            for (int k = 0; k < order.length; k++) {
+                order[k] = start + k;
+            }
+
+            int shard = s;
+
+            tasks.add(() -> {
+                double loss = 0.0;
+                shuffle(random, order);
+                for (int i : order) {
+                    double p = ActivationFunctions.sigmoid(BasisExpansion.evaluate(X[i], w, fncs));
+                    if (report) {
+                        loss += LogisticLoss.logLoss(y[i], p);
+                    }
+                    BasisExpansion.accumulate(X[i], -learningRate * (p - y[i]), fncs, w);
+                }
+                losses[shard] = loss;
+                return null;
+            });
+        }
+
+        //Each task runs one epoch, so the shards only wait for each other between epochs
+        for (int epoch = 0; epoch < iterations; epoch++) {
+            runAll(tasks);
+
+            if (report) {
+                double loss = 0.0;
+                for (double l : losses) {
+                    loss += l;
+                }
+                if (!monitor.iteration(epoch + 1, loss / n, Double.NaN, w)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private void solveSynchronous(int shards, SparseMatrix X, double[] y, double[] w, BasisFunction[] fncs, double learningRate, TrainingMonitor monitor) {
+        int n = X.getRows();
+        int cols = X.getCols();
+        boolean report = monitor.isActive();
+        double[] zeros = BasisExpansion.zeros(fncs);
+        double[] base = new double[1];
+        double[][] grads = new double[shards][w.length];
+        double[] totals = new double[shards];
+        double[] losses = new double[shards];
+        double[] grad = report ? new double[w.length] : null;
+        List<Callable<Void>> tasks = new ArrayList<>();
+
+        for (int s = 0; s < shards; s++) {
+            int shard = s;
+            int start = shardStart(s, shards, n);
+            int end = shardStart(s + 1, shards, n);
+            double[] shardGrad = grads[s];
+
+            tasks.add(() -> {
+                double loss = 0.0;
+                double total = 0.0;
+                for (int j = 0; j < shardGrad.length; j++) {
+                    shardGrad[j] = 0;
+                }
+                for (int i = start; i < end; i++) {
+                    double p = ActivationFunctions.sigmoid(BasisExpansion.evaluate(X, i, w, fncs, zeros, base[0]));
+                    if (report) {
+                        loss += LogisticLoss.logLoss(y[i], p);
+                    }
+                    BasisExpansion.accumulate(X, i, p - y[i], fncs, zeros, shardGrad);
+                    total += p - y[i];
+                }
+                losses[shard] = loss;
+                totals[shard] = total;
+                return null;
+            });
+        }
+
+        double step = learningRate / n;
+        for (int it = 0; it < iterations; it++) {
+            base[0] = BasisExpansion.baseline(w, zeros, cols);
+            runAll(tasks);
+
+            //Reducing the shards' gradients, with the all-zero sample's part of every residual added once at the end
+            double total = 0.0;
+            for (int s = 0; s < shards; s++) {
+                total += totals[s];
+            }
+            for (int s = 1; s < shards; s++) {
+                for (int j = 0; j < w.length; j++) {
+                    grads[0][j] += grads[s][j];
+                }
+            }
+            BasisExpansion.accumulateZero(cols, total, zeros, grads[0]);
+            for (int j = 0; j < w.length; j++) {
+                w[j] -= step * grads[0][j];
+                if (report) {
+                    grad[j] = grads[0][j] / n;
+                }
+            }
+
+            //The loss and gradient are those of the weights before this step
+            if (report) {
+                double loss = 0.0;
+                for (double l : losses) {
+                    loss += l;
+                }
+                if (!monitor.iteration(it + 1, loss / n, LogisticLoss.norm(grad), w)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private void solveHogwild(int shards, SparseMatrix X, double[] y, double[] w, BasisFunction[] fncs, double learningRate, TrainingMonitor monitor) {
+        int n = X.getRows();
+        int cols = X.getCols();
+        boolean report = monitor.isActive();
+        double[] zeros = BasisExpansion.zeros(fncs);
+        double[] losses = new double[shards];
+        List<Callable<Void>> tasks = new ArrayList<>();
+
+        for (int s = 0; s < shards; s++) {
+            int start = shardStart(s, shards, n);
+            int end = shardStart(s + 1, shards, n);
+            Random random = new Random(seed + s);
+            int[] order = new int[end - start];
+            for (int k = 0; k < order.length; k++) {
+                order[k] = start + k;
+            }
+
+            int shard = s;
+
+            tasks.add(() -> {
+                double loss = 0.0;
+                double total = 0.0;
+                shuffle(random, order);
+                //The all-zero sample's features touch every weight if a basis function other than the bias is
+                //non-zero at 0, so their part of the baseline is read once per pass and their updates are applied
+                //once at its end. The bias is still updated after every sample.
+                double featureBase = BasisExpansion.featureBaseline(w, zeros, cols);
+                for (int i : order) {
+                    double base = w[0] * zeros[0] + featureBase;
+                    double p = ActivationFunctions.sigmoid(BasisExpansion.evaluate(X, i, w, fncs, zeros, base));
+                    if (report) {
+                        loss += LogisticLoss.logLoss(y[i], p);
+                    }
+                    double scale = -learningRate * (p - y[i]);
+                    BasisExpansion.accumulate(X, i, scale, fncs, zeros, w);
+                    w[0] += scale * zeros[0];
+                    total += scale;
+                }
+                BasisExpansion.accumulateZeroFeatures(cols, total, zeros, w);
+                losses[shard] = loss;
+                return null;
+            });
+        }
+
+        for (int epoch = 0; epoch < iterations; epoch++) {
+            runAll(tasks);
+
+            if (report) {
+                double loss = 0.0;
+                for (double l : losses) {
+                    loss += l;
+                }
+                if (!monitor.iteration(epoch + 1, loss / n, Double.NaN, w)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    //Throws an exception if the number of threads is less than 1.
+    private static int checkParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1!");
+        }
+
+        return parallelism;
+    }
+
+    //Fisher-Yates shuffle
+    private static void shuffle(Random random, int[] order) {
+        for (int k = order.length - 1; k > 0; k--) {
+            int j = random.nextInt(k + 1);
+            int temp = order[k];
+            order[k] = order[j];
+            order[j] = temp;
+        }
+    }
+
+    //The index of the first sample in a shard.
+    private static int shardStart(int shard, int shards, int n) {
+        return (int) ((long) shard * n / shards);
+    }
+
+    //Runs every task and waits for them to finish, rethrowing the first failure.
+    private void runAll(List<Callable<Void>> tasks) {
+        try {
+            for (Future<Void> f : pool.invokeAll(tasks)) {
+                f.get();
+            }
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while training!", e);
+        }
+    }
+
+}
@@ -0,0 +1,254 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of a trained model's predictions, for traffic that scores the same samples repeatedly.
+ * <p>
+ *     Predictions are stored under an exact copy of their sample, so two samples only share a prediction if every
+ *     feature has the same bits. When the cache is full, the least recently used prediction is the eviction victim,
+ *     but a new prediction only replaces it if its sample has been requested more often recently, as estimated by a
+ *     {@link FrequencySketch}. This TinyLFU admission keeps a burst of one-off samples from flushing out the popular
+ *     ones. The cache checks {@link Model#getVersion()} on every request and empties itself once the model has been
+ *     retrained or otherwise changed, so it never returns a prediction of old weights.
+ * </p>
+ * <p>
+ *     The cache is thread-safe, with one lock around its entries. Predictions are computed outside the lock, so
+ *     concurrent misses are scored in parallel, but every hit takes the lock, since looking a prediction up moves it
+ *     to the front of the recency order. Concurrent hits are therefore serialized; the cache saves scoring work, and
+ *     is best suited to models whose predictions cost much more than a lookup.
+ * </p>
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+public class PredictionCache {
+    private final Model model;
+    private final int maxSize;
+    private final LinkedHashMap<Key, Double> entries;
+    private final FrequencySketch sketch;
+    private long version;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * Creates a cache in front of a model.
+     *
+     * @param model The model whose predictions will be cached.
+     * @param maxSize The largest number of predictions the cache will hold.
+     * @throws IllegalArgumentException If the maximum size is less than 1.
+     */
+    public PredictionCache(Model model, int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("The maximum size must be at least 1!");
+        }
+
+        this.model = model;
+        this.maxSize = maxSize;
+        entries = new LinkedHashMap<>(16, 0.75f, true);
+        sketch = new FrequencySketch(maxSize);
+        version = model.getVersion();
+    }
+
+    /**
+     * Predicts the label of a single sample, returning the cached prediction if there is one.
+     *
+     * @param sample The parameter values of a single sample.
+     * @return The model's prediction for the sample.
+     * @throws IllegalStateException If the model is untrained.
+     * @throws IllegalArgumentException If the sample does not have the number of features the model was trained on.
+     */
+    public double predict(double[] sample) {
+        Key key = new Key(sample);
+        long current = model.getVersion();
+
+        synchronized (entries) {
+            checkVersion(current);
+            sketch.increment(key.hash);
+            Double cached = entries.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+
+        misses.increment();
+        double prediction = model.predict(sample);
+
+        synchronized (entries) {
+            //A prediction made while the model was changing is returned but not kept
+            if ((current & 1) == 0 && model.getVersion() == current && current == version) {
+                admit(new Key(sample.clone(), key.hash), prediction);
+            }
+        }
+
+        return prediction;
+    }
+
+    /**
+     * Predicts the labels for a set of samples and writes them to the array provided, using cached predictions where
+     * there are some.
+     *
+     * @param samples The parameter values for a set of samples, one sample per row.
+     * @param out The array the labels will be written to.
+     * @throws IllegalStateException If the model is untrained.
+     * @throws IllegalArgumentException If the output array does not have one entry for each sample.
+     * @throws IllegalArgumentException If a sample does not have the number of features the model was trained on.
+     */
+    public void predict(double[][] samples, double[] out) {
+        if (out.length != samples.length) {
+            throw new IllegalArgumentException("The output must have one entry for each sample! There are " + samples.length + " samples and " + out.length + " entries!");
+        }
+
+        for (int i = 0; i < samples.length; i++) {
+            out[i] = predict(samples[i]);
+        }
+    }
+
+    /**
+     * Removes every prediction from the cache. The counters are not reset.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Returns the number of predictions in the cache.
+     *
+     * @return The number of predictions in the cache.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Returns the largest number of predictions the cache will hold.
+     *
+     * @return The maximum size of the cache.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Returns the number of requests answered from the cache.
+     *
+     * @return The number of hits.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of requests that had to be scored by the model.
+     *
+     * @return The number of misses.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the fraction of requests answered from the cache.
+     *
+     * @return The number of hits divided by the number of requests, or 0 if there have been no requests.
+     */
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    /**
+     * Returns the number of predictions removed to make room for new ones.
+     *
+     * @return The number of evictions.
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns the number of times the cache was emptied because the model changed.
+     *
+     * @return The number of invalidations.
+     */
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "PredictionCache{size=" + size() + ", maxSize=" + maxSize + ", hits=" + getHits() + ", misses=" + getMisses() + ", evictions=" + getEvictions() + ", invalidations=" + getInvalidations() + "}";
+    }
+
+    //Empties the cache if the model has changed since its predictions were made. Must hold the lock.
+    private void checkVersion(long current) {
+        if (current != version) {
+            entries.clear();
+            version = current;
+            invalidations.increment();
+        }
+    }
+
+    //Adds a prediction, evicting the least recently used one if it is more popular than the one it replaces, or
+    //dropping the new one otherwise. Must hold the lock.
+    private void admit(Key key, double prediction) {
+        if (entries.containsKey(key)) {
+            return;
+        }
+
+        if (entries.size() >= maxSize) {
+            Iterator<Map.Entry<Key, Double>> eldest = entries.entrySet().iterator();
+            Key victim = eldest.next().getKey();
+            if (sketch.frequency(key.hash) <= sketch.frequency(victim.hash)) {
+                return;
+            }
+            eldest.remove();
+            evictions.increment();
+        }
+
+        entries.put(key, prediction);
+    }
+
+    //A sample compared by the bits of its features.
+    private static final class Key {
+        private final double[] sample;
+        private final int hash;
+
+        private Key(double[] sample) {
+            this(sample, spread(Arrays.hashCode(sample)));
+        }
+
+        private Key(double[] sample, int hash) {
+            this.sample = sample;
+            this.hash = hash;
+        }
+
+        //Mixes the bits of the hash, since Arrays.hashCode leaves similar samples with similar hashes.
+        private static int spread(int h) {
+            h *= 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && ((Key) o).hash == hash && Arrays.equals(((Key) o).sample, sample);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+}
@@ -0,0 +1,225 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Fits a logistic regression model using mini-batch stochastic gradient descent.
+ * <p>
+ *     Each epoch visits every sample once, in batches of a fixed size. After each batch the weights move against the
+ *     mean gradient of the log-loss over that batch, scaled by the learning rate the schedule gives for the epoch.
+ * </p>
+ * <p>
+ *     The solver keeps no state between calls, so it can be shared between models and threads. Each call shuffles the
+ *     samples with a new generator created from the seed, and starts the schedule at epoch 0. A model that calls it
+ *     from {@link Model#partialFit(Matrix, Matrix)} therefore restarts a decaying schedule at its highest rate with
+ *     every batch of data, so a constant schedule is usually the better fit for incremental training.
+ * </p>
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+public class SGDSolver implements LogisticSolver {
+    private final int batchSize;
+    private final int epochs;
+    private final boolean shuffle;
+    private final LearningRateSchedule schedule;
+    private final long seed;
+
+    /**
+     * Creates a mini-batch stochastic gradient descent solver with a constant learning rate.
+     *
+     * @param batchSize The number of samples used for each update.
+     * @param epochs The number of passes made over the data each time the solver is used.
+     */
+    public SGDSolver(int batchSize, int epochs) {
+        this(batchSize, epochs, true, LearningRateSchedule.constant(), 0);
+    }
+
+    /**
+     * Creates a mini-batch stochastic gradient descent solver.
+     *
+     * @param batchSize The number of samples used for each update.
+     * @param epochs The number of passes made over the data each time the solver is used.
+     * @param shuffle If the order of the samples should be shuffled before each epoch.
+     * @param schedule The schedule used to change the learning rate between epochs.
+     * @param seed The seed used to shuffle the samples. Every call to the solver shuffles them the same way.
+     * @throws IllegalArgumentException If the batch size or number of epochs is less than 1.
+     */
+    public SGDSolver(int batchSize, int epochs, boolean shuffle, LearningRateSchedule schedule, long seed) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1!");
+        }
+        if (epochs < 1) {
+            throw new IllegalArgumentException("Epochs must be at least 1!");
+        }
+
+        this.batchSize = batchSize;
+        this.epochs = epochs;
+        this.shuffle = shuffle;
+        this.schedule = schedule;
+        this.seed = seed;
+    }
+
+    /**
+     * Returns the number of samples used for each update.
+     *
+     * @return The number of samples used for each update.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Returns the number of passes made over the data each time the solver is used.
+     *
+     * @return The number of passes made over the data each time the solver is used.
+     */
+    public int getEpochs() {
+        return epochs;
+    }
+
+    @Override
+    public double[] solve(double[][] X, double[] y, double[] w0, BasisFunction[] fncs, double learningRate, TrainingMonitor monitor) {
+        int n = X.length;
+        int[] order = new int[n];
+        double[] grad = new double[w0.length];
+        boolean report = monitor.isActive();
+        double[] epochGrad = report ? new double[w0.length] : null;
+        monitor.begin(w0);
+
+        Random random = new Random(seed);
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+
+        for (int epoch = 0; epoch < epochs; epoch++) {
+            if (shuffle) {
+                shuffle(random, order);
+            }
+            double rate = schedule.rate(learningRate, epoch);
+            double loss = 0.0;
+
+            for (int start = 0; start < n; start += batchSize) {
+                int end = Math.min(n, start + batchSize);
+
+                for (int j = 0; j < grad.length; j++) {
+                    grad[j] = 0;
+                }
+                for (int k = start; k < end; k++) {
+                    int i = order[k];
+                    double p = ActivationFunctions.sigmoid(BasisExpansion.evaluate(X[i], w0, fncs));
+                    if (report) {
+                        loss += LogisticLoss.logLoss(y[i], p);
+                    }
+                    BasisExpansion.accumulate(X[i], p - y[i], fncs, grad);
+                }
+
+                double step = rate / (end - start);
+                for (int j = 0; j < w0.length; j++) {
+                    w0[j] -= step * grad[j];
+                }
+                if (report) {
+                    for (int j = 0; j < grad.length; j++) {
+                        epochGrad[j] += grad[j];
+                    }
+                }
+            }
+
+            //The loss and gradient seen during the epoch, while the weights were still moving
+            if (report) {
+                for (int j = 0; j < epochGrad.length; j++) {
+                    epochGrad[j] /= n;
+                }
+                if (!monitor.iteration(epoch + 1, loss / n, LogisticLoss.norm(epochGrad), w0)) {
+                    break;
+                }
+                Arrays.fill(epochGrad, 0.0);
+            }
+        }
+
+        monitor.finish(w0);
+        return w0;
+    }
+
+    /**
+     * {@inheritDoc} Each update only touches the weights of the batch's non-zero features, plus the bias and any
+     * weights whose basis function is non-zero at 0.
+     */
+    @Override
+    public double[] solve(SparseMatrix X, double[] y, double[] w0, BasisFunction[] fncs, double learningRate, TrainingMonitor monitor) {
+        int n = X.getRows();
+        int cols = X.getCols();
+        int[] order = new int[n];
+        double[] residual = new double[batchSize];
+        double[] zeros = BasisExpansion.zeros(fncs);
+        boolean report = monitor.isActive();
+        double[] epochGrad = report ? new double[w0.length] : null;
+        monitor.begin(w0);
+
+        Random random = new Random(seed);
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+
+        for (int epoch = 0; epoch < epochs; epoch++) {
+            if (shuffle) {
+                shuffle(random, order);
+            }
+            double rate = schedule.rate(learningRate, epoch);
+            double loss = 0.0;
+
+            for (int start = 0; start < n; start += batchSize) {
+                int end = Math.min(n, start + batchSize);
+                double base = BasisExpansion.baseline(w0, zeros, cols);
+                double total = 0.0;
+
+                //Every residual is computed before the weights move, as in the dense solver
+                for (int k = start; k < end; k++) {
+                    int i = order[k];
+                    double p = ActivationFunctions.sigmoid(BasisExpansion.evaluate(X, i, w0, fncs, zeros, base));
+                    if (report) {
+                        loss += LogisticLoss.logLoss(y[i], p);
+                    }
+                    residual[k - start] = p - y[i];
+                    total += p - y[i];
+                }
+
+                double step = rate / (end - start);
+                for (int k = start; k < end; k++) {
+                    BasisExpansion.accumulate(X, order[k], -step * residual[k - start], fncs, zeros, w0);
+                    if (report) {
+                        BasisExpansion.accumulate(X, order[k], residual[k - start], fncs, zeros, epochGrad);
+                    }
+                }
+                BasisExpansion.accumulateZero(cols, -step * total, zeros, w0);
+                if (report) {
+                    BasisExpansion.accumulateZero(cols, total, zeros, epochGrad);
+                }
+            }
+
+            if (report) {
+                for (int j = 0; j < epochGrad.length; j++) {
+                    epochGrad[j] /= n;
+                }
+                if (!monitor.iteration(epoch + 1, loss / n, LogisticLoss.norm(epochGrad), w0)) {
+                    break;
+                }
+                Arrays.fill(epochGrad, 0.0);
+            }
+        }
+
+        monitor.finish(w0);
+        return w0;
+    }
+
+    //Fisher-Yates shuffle
+    private static void shuffle(Random random, int[] order) {
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int temp = order[i];
+            order[i] = order[j];
+            order[j] = temp;
+        }
+    }
+
+}
@@ -0,0 +1,43 @@
+//Scalar backend of VectorOps, used when the vector API is not available.
+class ScalarOps extends VectorOps {
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+
+    @Override
+    public double dot(double[] a, int aOffset, double[] b, int bOffset, int length) {
+        double sum = 0.0;
+        for (int i = 0; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+
+        return sum;
+    }
+
+    @Override
+    public double dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        double sum = 0.0;
+        for (int i = 0; i < length; i++) {
+            sum += (double) a[aOffset + i] * b[bOffset + i];
+        }
+
+        return sum;
+    }
+
+    @Override
+    public void axpy(double a, double[] x, int xOffset, double[] y, int yOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            y[yOffset + i] += a * x[xOffset + i];
+        }
+    }
+
+    @Override
+    public void sigmoid(double[] z, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            z[i] = ActivationFunctions.sigmoid(z[i]);
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+/**
+ * Scales each feature using the statistics of the data the scaler was fitted to.
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+public class Scaler extends Transformer {
+
+    /**
+     * How the features are scaled.
+     */
+    public enum Type {
+        /** Maps the minimum of each feature to 0 and the maximum to 1. */
+        MIN_MAX,
+        /** Shifts each feature to a mean of 0 and scales it to a standard deviation of 1. */
+        STANDARD
+    }
+
+    private final Type type;
+    private double[] offset;
+    private double[] factor;
+
+    /**
+     * Creates a scaler of the type provided.
+     *
+     * @param type How the features are scaled.
+     */
+    public Scaler(Type type) {
+        this.type = type;
+    }
+
+    /**
+     * Returns how the features are scaled.
+     *
+     * @return How the features are scaled.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    @Override
+    public void fit(ColumnStats stats) {
+        super.fit(stats);
+
+        int n = stats.getNumCols();
+        offset = new double[n];
+        factor = new double[n];
+
+        for (int j = 0; j < n; j++) {
+            double range;
+            if (type == Type.MIN_MAX) {
+                offset[j] = stats.getMin(j);
+                range = stats.getMax(j) - stats.getMin(j);
+            }
+            else {
+                offset[j] = stats.getMean(j);
+                range = stats.getStDev(j);
+            }
+            //Constant features are only shifted
+            factor[j] = range == 0 ? 1.0 : 1.0 / range;
+        }
+    }
+
+    @Override
+    protected void transformRow(double[] row, int start) {
+        for (int j = 0; j < offset.length; j++) {
+            row[start + j] = (row[start + j] - offset[j]) * factor[j];
+        }
+    }
+
+}
@@ -0,0 +1,49 @@
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A function that scores samples with a trained model, created by {@link Model#compile()}.
+ * <p>
+ *     A scorer holds its own copy of the model's weights and basis functions, so it is immutable, can be shared between
+ *     threads without synchronization, and is not affected by training the model further.
+ * </p>
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface Scorer extends ToDoubleFunction<double[]> {
+
+    /**
+     * Scores a single sample.
+     *
+     * @param sample The parameter values of a single sample.
+     * @return The model's prediction for the sample.
+     * @throws IllegalArgumentException If the sample does not have the number of features the model was trained on.
+     */
+    double score(double[] sample);
+
+    @Override
+    default double applyAsDouble(double[] sample) {
+        return score(sample);
+    }
+
+    /**
+     * Scores a set of samples and writes the predictions to the array provided.
+     *
+     * @param samples The parameter values for a set of samples, one sample per row.
+     * @param out The array the predictions will be written to.
+     * @throws IllegalArgumentException If the output array does not have one entry for each sample.
+     * @throws IllegalArgumentException If a sample does not have the number of features the model was trained on.
+     */
+    default void score(double[][] samples, double[] out) {
+        if (out.length != samples.length) {
+            throw new IllegalArgumentException("The output must have one entry for each sample! There are " + samples.length + " samples and " + out.length + " entries!");
+        }
+
+        for (int i = 0; i < samples.length; i++) {
+            out[i] = score(samples[i]);
+        }
+    }
+
+}
@@ -0,0 +1,180 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A local HTTP endpoint that scores samples through a {@link BatchScorer}.
+ * <p>
+ *     A POST to {@code /predict} carries one sample per line, with the features separated by commas, and is answered
+ *     with one prediction per line in the same order. Each line becomes its own request to the batch scorer, so
+ *     samples from concurrent connections are scored together. Handler threads do not wait for their predictions: the
+ *     response is written by the handler pool once the predictions complete, so a small pool serves many requests in
+ *     flight. Malformed samples are answered with status 400, and requests after the server is closed with 503.
+ *     Requests still waiting on their predictions when the server is closed have their connections closed unanswered.
+ * </p>
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+public class ScoringServer implements AutoCloseable {
+    private final HttpServer server;
+    private final BatchScorer scorer;
+    private final ExecutorService handlers;
+
+    /**
+     * Creates a server on the loopback address and starts it.
+     * <p>
+     *     Small responses wait on Nagle's algorithm and the client's delayed ACK, about 40 ms per request, unless the
+     *     JVM is started with {@code -Dsun.net.httpserver.nodelay=true}. The JDK reads that property once for every
+     *     server in the JVM, so it is left to the launcher rather than set here.
+     * </p>
+     *
+     * @param scorer The batch scorer the samples are sent to.
+     * @param port The port to listen on, or 0 to pick a free one.
+     * @param threads The number of threads that parse requests and write responses.
+     * @throws IllegalArgumentException If the number of threads is less than 1.
+     * @throws UncheckedIOException If the server cannot listen on the port.
+     */
+    public ScoringServer(BatchScorer scorer, int port, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("There must be at least 1 thread!");
+        }
+
+        this.scorer = scorer;
+        handlers = Executors.newFixedThreadPool(threads);
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        }
+        catch (IOException e) {
+            handlers.shutdown();
+            throw new UncheckedIOException(e);
+        }
+
+        server.setExecutor(handlers);
+        server.createContext("/predict", this::handle);
+        server.start();
+    }
+
+    /**
+     * Returns the port the server is listening on.
+     *
+     * @return The port.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops the server, waiting up to a second for requests in progress. The batch scorer is not closed.
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        handlers.shutdown();
+        try {
+            handlers.awaitTermination(1, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    //Parses the samples of a request and answers once all of their predictions complete.
+    private void handle(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            respond(exchange, 405, "Only POST is supported!");
+            return;
+        }
+
+        String[] lines;
+        try (InputStream in = exchange.getRequestBody()) {
+            lines = new String(in.readAllBytes(), StandardCharsets.UTF_8).trim().split("\\R");
+        }
+
+        CompletableFuture<?>[] predictions = new CompletableFuture<?>[lines.length];
+        try {
+            for (int i = 0; i < lines.length; i++) {
+                predictions[i] = scorer.submit(parse(lines[i]));
+            }
+        }
+        catch (IllegalArgumentException e) {
+            respond(exchange, 400, e.getMessage());
+            return;
+        }
+        catch (IllegalStateException e) {
+            respond(exchange, 503, e.getMessage());
+            return;
+        }
+
+        //Once close() has shut the handlers down the response cannot be written, so the exchange is closed instead of
+        //being left open.
+        Executor responder = task -> {
+            try {
+                handlers.execute(task);
+            }
+            catch (RejectedExecutionException e) {
+                exchange.close();
+            }
+        };
+        CompletableFuture.allOf(predictions).whenCompleteAsync((ignored, failure) -> {
+            try {
+                if (failure != null) {
+                    Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+                    respond(exchange, cause instanceof IllegalArgumentException ? 400 : 500, String.valueOf(cause.getMessage()));
+                    return;
+                }
+
+                StringBuilder sb = new StringBuilder();
+                for (CompletableFuture<?> prediction : predictions) {
+                    sb.append(prediction.join()).append("\n");
+                }
+                respond(exchange, 200, sb.toString());
+            }
+            catch (IOException e) {
+                exchange.close();
+            }
+        }, responder);
+    }
+
+    //Parses one line of comma separated features.
+    private static double[] parse(String line) {
+        String[] fields = line.split(",");
+        double[] sample = new double[fields.length];
+        for (int j = 0; j < fields.length; j++) {
+            try {
+                sample[j] = Double.parseDouble(fields[j].trim());
+            }
+            catch (NumberFormatException e) {
+                throw new IllegalArgumentException("The feature \"" + fields[j].trim() + "\" is not a number!");
+            }
+        }
+
+        return sample;
+    }
+
+    //Sends a plain text response and closes the exchange.
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+}
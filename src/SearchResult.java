@@ -0,0 +1,115 @@
+/**
+ * The cross-validated performance of one candidate model in a {@link HyperparameterSearch}.
+ * <p>
+ *     The accuracy and AUC of the candidate are kept for every fold, along with their mean and sample standard
+ *     deviation across the folds. The AUC is NaN for models that do not predict the probability of class 1.
+ * </p>
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+public class SearchResult {
+    private final String name;
+    private final double[] accuracy;
+    private final double[] auc;
+
+    //Creates the result of a candidate from its accuracy and AUC on each fold. The arrays are used directly.
+    SearchResult(String name, double[] accuracy, double[] auc) {
+        this.name = name;
+        this.accuracy = accuracy;
+        this.auc = auc;
+    }
+
+    /**
+     * Returns the name of the candidate.
+     *
+     * @return The name of the candidate.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the accuracy of the candidate on each fold.
+     *
+     * @return The accuracy on each fold, in fold order.
+     */
+    public double[] getFoldAccuracy() {
+        return accuracy.clone();
+    }
+
+    /**
+     * Returns the AUC of the candidate on each fold.
+     *
+     * @return The AUC on each fold, in fold order.
+     */
+    public double[] getFoldAUC() {
+        return auc.clone();
+    }
+
+    /**
+     * Returns the mean accuracy of the candidate across the folds.
+     *
+     * @return The mean accuracy.
+     */
+    public double getMeanAccuracy() {
+        return mean(accuracy);
+    }
+
+    /**
+     * Returns the sample standard deviation of the accuracy of the candidate across the folds.
+     *
+     * @return The standard deviation of the accuracy.
+     */
+    public double getStdAccuracy() {
+        return std(accuracy);
+    }
+
+    /**
+     * Returns the mean AUC of the candidate across the folds.
+     *
+     * @return The mean AUC.
+     */
+    public double getMeanAUC() {
+        return mean(auc);
+    }
+
+    /**
+     * Returns the sample standard deviation of the AUC of the candidate across the folds.
+     *
+     * @return The standard deviation of the AUC.
+     */
+    public double getStdAUC() {
+        return std(auc);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-40s %.4f +/- %.4f   %.4f +/- %.4f", name, getMeanAccuracy(), getStdAccuracy(), getMeanAUC(), getStdAUC());
+    }
+
+    private static double mean(double[] v) {
+        double sum = 0.0;
+        for (double x : v) {
+            sum += x;
+        }
+
+        return sum / v.length;
+    }
+
+    private static double std(double[] v) {
+        if (v.length < 2) {
+            return 0.0;
+        }
+
+        double mean = mean(v);
+        double sum = 0.0;
+        for (double x : v) {
+            sum += (x - mean) * (x - mean);
+        }
+
+        return Math.sqrt(sum / (v.length - 1));
+    }
+
+}
@@ -0,0 +1,233 @@
+import java.util.function.Function;
+
+/**
+ * A multinomial logistic regression classifier, which predicts one of k classes with a single model.
+ * <p>
+ *     The model has one weight matrix with a row for each expanded feature and a column for each class. The weights
+ *     are stored with the k weights of each expanded feature together, so the logits of every class are computed in
+ *     one pass over a sample, evaluating each basis function once. Probabilities are the softmax of the logits,
+ *     computed with a log-sum-exp that subtracts the largest logit, so they cannot overflow. The model is fit by
+ *     minimizing the cross-entropy with L-BFGS, so it does not need a learning rate. Classes are numbered 0 to k - 1,
+ *     and the predicted label of a sample is its most probable class.
+ * </p>
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+public class SoftmaxClassifier extends Model {
+    private final int numClasses;
+    private final LBFGSSolver optimizer;
+
+    /**
+     * Creates a softmax classifier that is trained with the default {@link LBFGSSolver} settings.
+     *
+     * @param basisFunctions The set of basis functions used to fit the model.
+     * @param numClasses The number of classes.
+     * @throws IllegalArgumentException If there are fewer than 2 classes.
+     */
+    public SoftmaxClassifier(Function<Double, Double>[] basisFunctions, int numClasses) {
+        this(basisFunctions, numClasses, new LBFGSSolver());
+    }
+
+    /**
+     * Creates a softmax classifier.
+     *
+     * @param basisFunctions The set of basis functions used to fit the model.
+     * @param numClasses The number of classes.
+     * @param optimizer The L-BFGS settings used to fit the model's weights.
+     * @throws IllegalArgumentException If there are fewer than 2 classes.
+     */
+    public SoftmaxClassifier(Function<Double, Double>[] basisFunctions, int numClasses, LBFGSSolver optimizer) {
+        super(0.001, basisFunctions);
+        if (numClasses < 2) {
+            throw new IllegalArgumentException("There must be at least 2 classes!");
+        }
+
+        this.numClasses = numClasses;
+        this.optimizer = optimizer;
+    }
+
+    /**
+     * Returns the number of classes.
+     *
+     * @return The number of classes.
+     */
+    public int getNumClasses() {
+        return numClasses;
+    }
+
+    /**
+     * Returns the model's weights as a matrix with a row for each expanded feature and a column for each class.
+     *
+     * @return The model's weight matrix.
+     * @throws IllegalStateException If the model is untrained.
+     */
+    public Matrix getWeightMatrix() {
+        if (!trained) {
+            throw new IllegalStateException("The model is not trained!");
+        }
+
+        double[][] W = new double[weightValues.length / numClasses][numClasses];
+        for (int t = 0; t < W.length; t++) {
+            System.arraycopy(weightValues, t * numClasses, W[t], 0, numClasses);
+        }
+
+        return new Matrix(W);
+    }
+
+    /**
+     * Predicts the probability of each class for a single sample.
+     *
+     * @param sample The parameter values of a single sample.
+     * @return The probability of each class.
+     * @throws IllegalStateException If the model is untrained.
+     */
+    public double[] predictProbabilities(double[] sample) {
+        return predictProbabilities(new double[][]{sample})[0];
+    }
+
+    /**
+     * Predicts the probability of each class for a set of samples. The logits of the whole batch are computed into a
+     * single buffer before the softmax is applied to each row.
+     *
+     * @param sample The parameter values for a set of samples, one sample per row.
+     * @return The probability of each class, one sample per row.
+     * @throws IllegalStateException If the model is untrained.
+     */
+    public double[][] predictProbabilities(double[][] sample) {
+        if (!trained) {
+            throw new IllegalStateException("The model is not trained!");
+        }
+
+        double[] z = logits(sample, weightValues);
+        double[][] probs = new double[sample.length][numClasses];
+        for (int i = 0; i < sample.length; i++) {
+            ActivationFunctions.softmax(z, i * numClasses, numClasses);
+            System.arraycopy(z, i * numClasses, probs[i], 0, numClasses);
+        }
+
+        return probs;
+    }
+
+    @Override
+    protected int numWeights(int numFeatures) {
+        return super.numWeights(numFeatures) * numClasses;
+    }
+
+    @Override
+    protected Matrix generateW0(int n) {
+        return LinearAlgebra.zeroMatrix(n, 1);
+    }
+
+    @Override
+    protected Matrix predictProtected(Matrix x) {
+        double[][] sample = x.getMatrix();
+        double[] z = logits(sample, weightValues);
+        double[] y = new double[sample.length];
+
+        //The softmax does not change which logit is largest, so the classes come straight from the logits
+        for (int i = 0; i < sample.length; i++) {
+            y[i] = argMax(z, i * numClasses);
+        }
+
+        return new Matrix(y);
+    }
+
+    @Override
+    protected double predictSample(double[] x, double[] w, BasisFunction[] fncs) {
+        double[] z = new double[numClasses];
+        BasisExpansion.evaluate(x, w, fncs, numClasses, z, 0);
+        return argMax(z, 0);
+    }
+
+    //The scorer keeps its own copies of the weights and basis functions and predicts the most probable class.
+    @Override
+    protected Scorer compileProtected() {
+        double[] w = weightValues.clone();
+        BasisFunction[] fncs = basis.clone();
+        int numWeights = w.length;
+        return (x) -> {
+            if (BasisExpansion.numWeights(x.length, fncs.length) * numClasses != numWeights) {
+                throw new IllegalArgumentException("The sample does not have the number of features the model was trained on!");
+            }
+
+            double[] z = new double[numClasses];
+            BasisExpansion.evaluate(x, w, fncs, numClasses, z, 0);
+            return argMax(z, 0);
+        };
+    }
+
+    @Override
+    protected void trainProtected(Matrix X, Matrix y, Matrix w0) {
+        trainProtected(X.getMatrix(), y.getCol(1), w0.getCol(1));
+    }
+
+    @Override
+    protected void trainProtected(double[][] X, double[] y, double[] w0) {
+        checkLabels(y);
+        if (stopping != null && stopping.getValidation() != null) {
+            checkLabels(stopping.getValidation().labels());
+        }
+        weights = new Matrix(optimizer.minimize((w, grad) -> SoftmaxLoss.evaluate(X, y, w, basis, numClasses, grad), w0, monitor()));
+    }
+
+    //Scores the weights on the validation set with the cross-entropy, or with the Brier score for mean squared error.
+    @Override
+    protected double validationLoss(double[] w) {
+        Dataset validation = stopping.getValidation();
+        double[] z = new double[numClasses];
+        double sum = 0.0;
+
+        for (int i = 0; i < validation.size(); i++) {
+            int cls = (int) validation.getLabel(i);
+            BasisExpansion.evaluate(validation.getFeatures(i), w, basis, numClasses, z, 0);
+            double target = z[cls];
+            double lse = ActivationFunctions.softmax(z, 0, numClasses);
+
+            if (stopping.getMetric() == EarlyStopping.Metric.LOG_LOSS) {
+                sum += lse - target;
+            }
+            else {
+                z[cls] -= 1;
+                for (int c = 0; c < numClasses; c++) {
+                    sum += z[c] * z[c];
+                }
+            }
+        }
+
+        return sum / validation.size();
+    }
+
+    //Computes the logits of every class for a set of samples, k values per sample.
+    private double[] logits(double[][] sample, double[] w) {
+        double[] z = new double[sample.length * numClasses];
+        for (int i = 0; i < sample.length; i++) {
+            BasisExpansion.evaluate(sample[i], w, basis, numClasses, z, i * numClasses);
+        }
+
+        return z;
+    }
+
+    //The index of the largest of the k values starting at offset.
+    private int argMax(double[] z, int offset) {
+        int best = 0;
+        for (int c = 1; c < numClasses; c++) {
+            if (z[offset + c] > z[offset + best]) {
+                best = c;
+            }
+        }
+
+        return best;
+    }
+
+    //Throws an exception if a label is not one of the model's classes.
+    private void checkLabels(double[] y) {
+        for (double label : y) {
+            if (label != Math.rint(label) || label < 0 || label >= numClasses) {
+                throw new IllegalArgumentException("Every label must be a class from 0 to " + (numClasses - 1) + "! Found " + label + "!");
+            }
+        }
+    }
+
+}
@@ -0,0 +1,54 @@
+/**
+ * A static class that computes the cross-entropy of a multinomial softmax model and its gradient.
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+public class SoftmaxLoss {
+
+    /**
+     * Computes the mean cross-entropy of a softmax model over a set of samples and, optionally, its gradient. The
+     * logits of every class are computed in one pass over each sample and the loss uses their log-sum-exp, so it stays
+     * finite however large the logits are.
+     *
+     * @param X The parameter values for a set of samples, one sample per row.
+     * @param y The class of each sample, from 0 to k - 1.
+     * @param w The weights of the model, k for each expanded feature.
+     * @param fncs The basis functions of the model.
+     * @param k The number of classes.
+     * @param grad The array the mean gradient will be written to, or null if it is not needed.
+     * @return The mean cross-entropy.
+     */
+    public static double evaluate(double[][] X, double[] y, double[] w, BasisFunction[] fncs, int k, double[] grad) {
+        double[] z = new double[k];
+        if (grad != null) {
+            for (int j = 0; j < grad.length; j++) {
+                grad[j] = 0;
+            }
+        }
+
+        double loss = 0.0;
+        for (int i = 0; i < X.length; i++) {
+            int cls = (int) y[i];
+            BasisExpansion.evaluate(X[i], w, fncs, k, z, 0);
+            double target = z[cls];
+            loss += ActivationFunctions.softmax(z, 0, k) - target;
+
+            //The gradient of the cross-entropy with respect to the logits is the probabilities minus the one-hot label
+            if (grad != null) {
+                z[cls] -= 1;
+                BasisExpansion.accumulate(X[i], z, 0, fncs, k, grad);
+            }
+        }
+
+        if (grad != null) {
+            for (int j = 0; j < grad.length; j++) {
+                grad[j] /= X.length;
+            }
+        }
+
+        return loss / X.length;
+    }
+
+}
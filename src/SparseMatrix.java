@@ -0,0 +1,207 @@
+/**
+ * A matrix stored in compressed sparse row (CSR) form, where only the non-zero entries are kept.
+ * <p>
+ *     The non-zero values of each row are stored one after another, together with their column indices, and a row
+ *     pointer array marks where each row begins. Within a row the columns are strictly increasing. This suits data
+ *     such as one-hot encodings and bag-of-words counts, where almost every entry is zero, since memory and the cost
+ *     of scoring and training grow with the number of non-zero entries instead of rows times columns. Unlike
+ *     {@link Matrix}, rows and columns are numbered from 0.
+ * </p>
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+public class SparseMatrix {
+    private final int rows;
+    private final int cols;
+    final int[] rowPtr;
+    final int[] colIdx;
+    final double[] values;
+
+    /**
+     * Creates a sparse matrix from its compressed sparse row arrays. The arrays are used directly, not copied.
+     *
+     * @param rows The number of rows.
+     * @param cols The number of columns.
+     * @param rowPtr The index in colIdx and values at which each row begins, followed by the number of non-zero
+     *               entries, so it has one more entry than there are rows.
+     * @param colIdx The column of each non-zero entry.
+     * @param values The value of each non-zero entry.
+     * @throws IllegalArgumentException If the arrays do not describe a valid rows by cols matrix.
+     */
+    public SparseMatrix(int rows, int cols, int[] rowPtr, int[] colIdx, double[] values) {
+        if (rows < 0 || cols < 0) {
+            throw new IllegalArgumentException("The dimensions of a matrix must not be negative!");
+        }
+        if (rowPtr.length != rows + 1 || rowPtr[0] != 0 || colIdx.length != values.length || rowPtr[rows] != values.length) {
+            throw new IllegalArgumentException("The row pointers do not match the number of rows and non-zero entries!");
+        }
+
+        for (int i = 0; i < rows; i++) {
+            if (rowPtr[i + 1] < rowPtr[i]) {
+                throw new IllegalArgumentException("The row pointers must not decrease!");
+            }
+            for (int k = rowPtr[i]; k < rowPtr[i + 1]; k++) {
+                if (colIdx[k] < 0 || colIdx[k] >= cols || (k > rowPtr[i] && colIdx[k] <= colIdx[k - 1])) {
+                    throw new IllegalArgumentException("The columns of each row must be increasing and within the matrix!");
+                }
+            }
+        }
+
+        this.rows = rows;
+        this.cols = cols;
+        this.rowPtr = rowPtr;
+        this.colIdx = colIdx;
+        this.values = values;
+    }
+
+    /**
+     * Creates a sparse matrix holding the non-zero entries of a dense array.
+     *
+     * @param data The dense array, with every row the same length.
+     * @return The sparse matrix.
+     * @throws IllegalArgumentException If the rows are not all the same length.
+     */
+    public static SparseMatrix fromDense(double[][] data) {
+        int rows = data.length;
+        int cols = rows == 0 ? 0 : data[0].length;
+        int nnz = 0;
+
+        for (double[] row : data) {
+            if (row.length != cols) {
+                throw new IllegalArgumentException("Every row must be the same length!");
+            }
+            for (double v : row) {
+                if (v != 0) {
+                    nnz++;
+                }
+            }
+        }
+
+        int[] rowPtr = new int[rows + 1];
+        int[] colIdx = new int[nnz];
+        double[] values = new double[nnz];
+        int k = 0;
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                if (data[i][j] != 0) {
+                    colIdx[k] = j;
+                    values[k] = data[i][j];
+                    k++;
+                }
+            }
+            rowPtr[i + 1] = k;
+        }
+
+        return new SparseMatrix(rows, cols, rowPtr, colIdx, values);
+    }
+
+    /**
+     * Creates a sparse matrix holding the non-zero entries of a dense matrix.
+     *
+     * @param data The dense matrix.
+     * @return The sparse matrix.
+     */
+    public static SparseMatrix fromDense(Matrix data) {
+        return fromDense(data.getMatrix());
+    }
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return The number of rows.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns the number of columns.
+     *
+     * @return The number of columns.
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Returns the number of entries that are stored.
+     *
+     * @return The number of non-zero entries.
+     */
+    public int getNonZeros() {
+        return values.length;
+    }
+
+    /**
+     * Returns the fraction of the matrix's entries that are stored.
+     *
+     * @return The number of non-zero entries divided by rows times columns.
+     */
+    public double getDensity() {
+        return rows == 0 || cols == 0 ? 0.0 : values.length / ((double) rows * cols);
+    }
+
+    /**
+     * Returns an entry of the matrix.
+     *
+     * @param row The row of the entry, starting at 0.
+     * @param col The column of the entry, starting at 0.
+     * @return The value of the entry.
+     * @throws IllegalArgumentException If the entry is outside the matrix.
+     */
+    public double getValue(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IllegalArgumentException("The entry (" + row + ", " + col + ") is outside the matrix!");
+        }
+
+        //Binary search of the row's columns
+        int lo = rowPtr[row];
+        int hi = rowPtr[row + 1] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (colIdx[mid] < col) {
+                lo = mid + 1;
+            }
+            else if (colIdx[mid] > col) {
+                hi = mid - 1;
+            }
+            else {
+                return values[mid];
+            }
+        }
+
+        return 0.0;
+    }
+
+    /**
+     * Writes a row of the matrix, including its zeros, to the array provided.
+     *
+     * @param row The row, starting at 0.
+     * @param out The array the row will be written to, with one entry per column.
+     */
+    public void copyRow(int row, double[] out) {
+        for (int j = 0; j < cols; j++) {
+            out[j] = 0;
+        }
+        for (int k = rowPtr[row]; k < rowPtr[row + 1]; k++) {
+            out[colIdx[k]] = values[k];
+        }
+    }
+
+    /**
+     * Creates a dense copy of the matrix.
+     *
+     * @return The matrix as an array, one row per array.
+     */
+    public double[][] toDense() {
+        double[][] dense = new double[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            copyRow(i, dense[i]);
+        }
+
+        return dense;
+    }
+
+}
@@ -0,0 +1,109 @@
+/**
+ * The state of a model's training after one iteration or epoch.
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+public class TrainingEvent {
+    private final int iteration;
+    private final double loss;
+    private final double gradientNorm;
+    private final double validationLoss;
+    private final double weightDelta;
+    private final long elapsedNanos;
+    private final long allocatedBytes;
+
+    /**
+     * Creates a training event.
+     *
+     * @param iteration The number of iterations completed, starting at 1.
+     * @param loss The mean log-loss over the training data.
+     * @param gradientNorm The Euclidean norm of the mean gradient.
+     * @param validationLoss The loss on the validation set, or NaN if none is used.
+     * @param weightDelta The Euclidean norm of the change in the weights since the previous event.
+     * @param elapsedNanos The time since training started, in nanoseconds.
+     * @param allocatedBytes The bytes allocated by the training thread since training started, or -1 if unknown.
+     */
+    public TrainingEvent(int iteration, double loss, double gradientNorm, double validationLoss, double weightDelta, long elapsedNanos, long allocatedBytes) {
+        this.iteration = iteration;
+        this.loss = loss;
+        this.gradientNorm = gradientNorm;
+        this.validationLoss = validationLoss;
+        this.weightDelta = weightDelta;
+        this.elapsedNanos = elapsedNanos;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * Returns the number of iterations completed, starting at 1.
+     *
+     * @return The number of iterations completed.
+     */
+    public int getIteration() {
+        return iteration;
+    }
+
+    /**
+     * Returns the mean log-loss over the training data. Stochastic solvers report the mean loss seen during the epoch.
+     *
+     * @return The mean log-loss.
+     */
+    public double getLoss() {
+        return loss;
+    }
+
+    /**
+     * Returns the Euclidean norm of the mean gradient, or NaN if the solver does not compute it.
+     *
+     * @return The Euclidean norm of the mean gradient.
+     */
+    public double getGradientNorm() {
+        return gradientNorm;
+    }
+
+    /**
+     * Returns the loss of the current weights on the validation set used for early stopping.
+     *
+     * @return The validation loss, or NaN if no validation set is used.
+     */
+    public double getValidationLoss() {
+        return validationLoss;
+    }
+
+    /**
+     * Returns the Euclidean norm of the change in the weights since the previous event.
+     *
+     * @return The Euclidean norm of the change in the weights.
+     */
+    public double getWeightDelta() {
+        return weightDelta;
+    }
+
+    /**
+     * Returns the time since training started, in nanoseconds.
+     *
+     * @return The time since training started.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the bytes allocated by the training thread since training started. Allocations made by worker threads
+     * are not included.
+     *
+     * @return The bytes allocated, or -1 if the JVM does not report allocations.
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "Iteration " + iteration + " | Loss: " + String.format("%.6f", loss) + " | Gradient Norm: " + String.format("%.6f", gradientNorm)
+                + (Double.isNaN(validationLoss) ? "" : " | Validation Loss: " + String.format("%.6f", validationLoss))
+                + " | Weight Delta: " + String.format("%.6f", weightDelta) + " | Time: " + String.format("%.3f", elapsedNanos / 1e6) + " ms | Allocated: " + allocatedBytes + " B";
+    }
+
+}
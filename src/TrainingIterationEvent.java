@@ -0,0 +1,32 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+//JFR event recorded after each iteration or epoch of training.
+@Name("ml.TrainingIteration")
+@Label("Training Iteration")
+@Category({"ML", "Training"})
+@Description("One iteration or epoch of training")
+class TrainingIterationEvent extends Event {
+
+    @Label("Model")
+    String model;
+
+    @Label("Iteration")
+    int iteration;
+
+    @Label("Loss")
+    double loss;
+
+    @Label("Gradient Norm")
+    double gradientNorm;
+
+    @Label("Weight Delta")
+    double weightDelta;
+
+    @Label("Validation Loss")
+    double validationLoss;
+
+}
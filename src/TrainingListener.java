@@ -0,0 +1,18 @@
+/**
+ * Receives progress reports while a model trains.
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface TrainingListener {
+
+    /**
+     * Called after every iteration or epoch of training, on the thread that is training the model.
+     *
+     * @param event The state of training after the iteration.
+     */
+    void onIteration(TrainingEvent event);
+
+}
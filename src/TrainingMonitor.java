@@ -0,0 +1,201 @@
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+import jdk.jfr.EventType;
+
+/**
+ * Reports the progress of one training run to a model's listeners and to JFR, and decides when it should stop early.
+ * <p>
+ *     Solvers should check {@link #isActive()} before computing anything only needed for reporting, such as the loss,
+ *     so that training without listeners, JFR recording or early stopping pays almost nothing for the monitor. Solvers
+ *     stop as soon as {@link #iteration(int, double, double, double[])} returns false, and call
+ *     {@link #finish(double[])} before returning their weights.
+ * </p>
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+public class TrainingMonitor {
+
+    private static final EventType ITERATION_EVENT = EventType.getEventType(TrainingIterationEvent.class);
+
+    /**
+     * A monitor that reports to nobody.
+     */
+    public static final TrainingMonitor NONE = new TrainingMonitor("", Collections.emptyList());
+
+    private final String model;
+    private final List<TrainingListener> listeners;
+    private final EarlyStopping stopping;
+    private final ToDoubleFunction<double[]> validationLoss;
+    private final boolean jfr;
+    private final boolean active;
+    private final long start;
+    private final long startBytes;
+    private double[] previous;
+    private double previousLoss = Double.NaN;
+    private double bestLoss = Double.POSITIVE_INFINITY;
+    private double[] best;
+    private int sinceBest;
+
+    /**
+     * Creates a monitor for one training run.
+     *
+     * @param model The name of the model being trained.
+     * @param listeners The listeners that will receive the reports.
+     */
+    public TrainingMonitor(String model, List<TrainingListener> listeners) {
+        this(model, listeners, null, null);
+    }
+
+    /**
+     * Creates a monitor for one training run that may stop training early.
+     *
+     * @param model The name of the model being trained.
+     * @param listeners The listeners that will receive the reports.
+     * @param stopping The conditions under which training stops early, or null if it should not.
+     * @param validationLoss Computes the loss of a set of weights on the validation set, or null if the stopping
+     *                       conditions do not use one.
+     */
+    public TrainingMonitor(String model, List<TrainingListener> listeners, EarlyStopping stopping, ToDoubleFunction<double[]> validationLoss) {
+        this.model = model;
+        this.listeners = listeners;
+        this.stopping = stopping;
+        this.validationLoss = stopping != null && stopping.getValidation() != null ? validationLoss : null;
+        this.jfr = ITERATION_EVENT.isEnabled();
+        this.active = !listeners.isEmpty() || jfr || stopping != null;
+        this.start = active ? System.nanoTime() : 0;
+        this.startBytes = active ? allocatedBytes() : 0;
+    }
+
+    /**
+     * Returns if anything is receiving the reports.
+     *
+     * @return If anything is receiving the reports.
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Records the initial weights, so that the first report can include how far the weights moved.
+     *
+     * @param w0 The initial weights.
+     */
+    public void begin(double[] w0) {
+        if (active) {
+            previous = w0.clone();
+        }
+    }
+
+    /**
+     * Reports the state of training after an iteration or epoch.
+     *
+     * @param iteration The number of iterations completed, starting at 1.
+     * @param loss The mean log-loss over the training data.
+     * @param gradientNorm The Euclidean norm of the mean gradient, or NaN if it was not computed.
+     * @param w The current weights.
+     * @return If training should continue.
+     */
+    public boolean iteration(int iteration, double loss, double gradientNorm, double[] w) {
+        if (!active) {
+            return true;
+        }
+
+        double delta = Double.NaN;
+        if (previous != null) {
+            double sum = 0.0;
+            for (int j = 0; j < w.length; j++) {
+                double d = w[j] - previous[j];
+                sum += d * d;
+            }
+            delta = Math.sqrt(sum);
+            System.arraycopy(w, 0, previous, 0, w.length);
+        }
+        else {
+            previous = w.clone();
+        }
+
+        double valLoss = validationLoss == null ? Double.NaN : validationLoss.applyAsDouble(w);
+        boolean proceed = stopping == null || proceed(loss, gradientNorm, valLoss, w);
+
+        if (jfr) {
+            TrainingIterationEvent event = new TrainingIterationEvent();
+            event.model = model;
+            event.iteration = iteration;
+            event.loss = loss;
+            event.gradientNorm = gradientNorm;
+            event.weightDelta = delta;
+            event.validationLoss = valLoss;
+            event.commit();
+        }
+
+        if (!listeners.isEmpty()) {
+            long bytes = startBytes < 0 ? -1 : allocatedBytes() - startBytes;
+            TrainingEvent event = new TrainingEvent(iteration, loss, gradientNorm, valLoss, delta, System.nanoTime() - start, bytes);
+            for (TrainingListener listener : listeners) {
+                listener.onIteration(event);
+            }
+        }
+
+        return proceed;
+    }
+
+    /**
+     * Ends the training run, replacing the weights with those that had the lowest validation loss if the stopping
+     * conditions ask for it.
+     *
+     * @param w The final weights, which are overwritten with the best weights.
+     */
+    public void finish(double[] w) {
+        if (best != null && stopping.isRestoreBest()) {
+            System.arraycopy(best, 0, w, 0, w.length);
+        }
+    }
+
+    //Checks the stopping conditions, keeping track of the best weights seen on the validation set. The best weights are
+    //recorded before the convergence test so the final iterate can still be restored if it was the best.
+    private boolean proceed(double loss, double gradientNorm, double valLoss, double[] w) {
+        boolean improved = false;
+        if (validationLoss != null && valLoss < bestLoss) {
+            improved = true;
+            bestLoss = valLoss;
+            sinceBest = 0;
+            if (best == null) {
+                best = w.clone();
+            }
+            else {
+                System.arraycopy(w, 0, best, 0, w.length);
+            }
+        }
+
+        boolean converged = Math.abs(previousLoss - loss) < stopping.getLossTolerance() || gradientNorm < stopping.getGradientTolerance();
+        previousLoss = loss;
+        if (converged) {
+            return false;
+        }
+        if (validationLoss == null || improved) {
+            return true;
+        }
+
+        return ++sinceBest < stopping.getPatience();
+    }
+
+    //The bytes allocated by the current thread, or -1 if the JVM does not report them.
+    private static long allocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+            if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+                return sunBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+
+        return -1;
+    }
+
+}
@@ -0,0 +1,23 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+//JFR event covering one call that trains a model.
+@Name("ml.TrainingPhase")
+@Label("Training Phase")
+@Category({"ML", "Training"})
+@Description("A call that trains a model")
+class TrainingPhaseEvent extends Event {
+
+    @Label("Model")
+    String model;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Samples")
+    int samples;
+
+}
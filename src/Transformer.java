@@ -0,0 +1,119 @@
+/**
+ * An abstract class representing a preprocessing step that is fitted to training data and then applied, unchanged,
+ * to any later data.
+ * <p>
+ *     A transformer works on a fixed number of feature columns. It is fitted to a range of columns of a data set and
+ *     afterwards transforms samples in place, so the same transform can be applied to training data, test data and
+ *     live samples at scoring time.
+ * </p>
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+public abstract class Transformer {
+    protected ColumnStats stats;
+
+    /**
+     * Fits the transformer to every column of the data provided.
+     *
+     * @param data The data set, one sample per row.
+     */
+    public void fit(double[][] data) {
+        fit(data, 0, data.length == 0 ? 0 : data[0].length);
+    }
+
+    /**
+     * Fits the transformer to a range of columns of the data provided. Column start of the data becomes feature 0 of
+     * the transformer.
+     *
+     * @param data The data set, one sample per row.
+     * @param start The first column, inclusive.
+     * @param end The last column, exclusive.
+     */
+    public void fit(double[][] data, int start, int end) {
+        fit(ColumnStats.compute(data, start, end));
+    }
+
+    /**
+     * Fits the transformer using statistics that were already computed, such as when loading a model.
+     *
+     * @param stats The statistics of the features.
+     */
+    public void fit(ColumnStats stats) {
+        this.stats = stats;
+    }
+
+    /**
+     * Returns the statistics the transformer was fitted with.
+     *
+     * @return The statistics the transformer was fitted with, or null if it has not been fitted.
+     */
+    public ColumnStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Returns if the transformer has been fitted.
+     *
+     * @return If the transformer has been fitted.
+     */
+    public boolean isFitted() {
+        return stats != null;
+    }
+
+    /**
+     * Transforms a single sample in place.
+     *
+     * @param sample The features of a single sample.
+     * @throws IllegalStateException If the transformer has not been fitted.
+     * @throws IllegalArgumentException If the sample does not have the number of features the transformer was fitted on.
+     */
+    public void transform(double[] sample) {
+        checkFitted();
+        if (sample.length != stats.getNumCols()) {
+            throw new IllegalArgumentException("The sample has " + sample.length + " features, but the transformer was fitted on " + stats.getNumCols() + " features!");
+        }
+
+        transformRow(sample, 0);
+    }
+
+    /**
+     * Transforms a set of samples in place.
+     *
+     * @param samples The features of a set of samples, one sample per row.
+     * @throws IllegalStateException If the transformer has not been fitted.
+     */
+    public void transform(double[][] samples) {
+        transform(samples, 0);
+    }
+
+    /**
+     * Transforms a range of columns of a data set in place, starting at the column provided.
+     *
+     * @param data The data set, one sample per row.
+     * @param start The column holding feature 0 of the transformer.
+     * @throws IllegalStateException If the transformer has not been fitted.
+     * @throws IllegalArgumentException If the rows are too short to hold every feature.
+     */
+    public void transform(double[][] data, int start) {
+        checkFitted();
+
+        for (double[] row : data) {
+            if (row.length < start + stats.getNumCols()) {
+                throw new IllegalArgumentException("A row has " + row.length + " columns, but the transformer needs " + (start + stats.getNumCols()) + " columns!");
+            }
+            transformRow(row, start);
+        }
+    }
+
+    private void checkFitted() {
+        if (stats == null) {
+            throw new IllegalStateException("The transformer is not fitted!");
+        }
+    }
+
+    //Actual method for transforming the features of a row that starts at the column provided
+    protected abstract void transformRow(double[] row, int start);
+
+}
@@ -0,0 +1,119 @@
+/**
+ * The arithmetic kernels used in the inner loops of scoring and training.
+ * <p>
+ *     Two backends are available: a scalar one that works on every JVM, and a SIMD one built on the
+ *     {@code jdk.incubator.vector} API, which processes as many values per instruction as the CPU's widest vector
+ *     registers allow (4 doubles with AVX2, 8 with AVX-512). The SIMD backend is used when the JVM was started with
+ *     {@code --add-modules jdk.incubator.vector}, unless the system property {@code ml.simd} is set to false. Otherwise
+ *     the scalar backend is used. The two backends may round differently in the last bit.
+ * </p>
+ *
+ * @author Keeler Spear
+ * @version %I%, %G%
+ * @since 1.0
+ */
+public abstract class VectorOps {
+    private static final VectorOps SCALAR = new ScalarOps();
+    private static final VectorOps SIMD = loadSimd();
+    private static final VectorOps DEFAULT = SIMD != null && !"false".equals(System.getProperty("ml.simd")) ? SIMD : SCALAR;
+
+    /**
+     * Returns the backend used by the library.
+     *
+     * @return The SIMD backend if it is available and enabled, otherwise the scalar backend.
+     */
+    public static VectorOps get() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns the scalar backend.
+     *
+     * @return The scalar backend.
+     */
+    public static VectorOps scalar() {
+        return SCALAR;
+    }
+
+    /**
+     * Returns the SIMD backend, even if it has been disabled.
+     *
+     * @return The SIMD backend, or null if the vector API module is not available.
+     */
+    public static VectorOps simd() {
+        return SIMD;
+    }
+
+    /**
+     * Returns the name of the backend.
+     *
+     * @return The name of the backend.
+     */
+    public abstract String getName();
+
+    /**
+     * Computes the dot product of two ranges of values.
+     *
+     * @param a The first array.
+     * @param aOffset The index of the first value in a.
+     * @param b The second array.
+     * @param bOffset The index of the first value in b.
+     * @param length The number of values.
+     * @return The sum of a[aOffset + i] * b[bOffset + i].
+     */
+    public abstract double dot(double[] a, int aOffset, double[] b, int bOffset, int length);
+
+    /**
+     * Computes the dot product of two ranges of floats. The SIMD backend accumulates in single precision, one sum per
+     * lane, so it may differ from the scalar backend by the rounding of a float.
+     *
+     * @param a The first array.
+     * @param aOffset The index of the first value in a.
+     * @param b The second array.
+     * @param bOffset The index of the first value in b.
+     * @param length The number of values.
+     * @return The sum of a[aOffset + i] * b[bOffset + i].
+     */
+    public abstract double dot(float[] a, int aOffset, float[] b, int bOffset, int length);
+
+    /**
+     * Adds a scaled range of values to another range, y = y + a * x.
+     *
+     * @param a The value x is multiplied by.
+     * @param x The array being added.
+     * @param xOffset The index of the first value in x.
+     * @param y The array being added to.
+     * @param yOffset The index of the first value in y.
+     * @param length The number of values.
+     */
+    public abstract void axpy(double a, double[] x, int xOffset, double[] y, int yOffset, int length);
+
+    /**
+     * Replaces a range of values with their sigmoid, in place.
+     *
+     * @param z The array of values.
+     * @param offset The index of the first value.
+     * @param length The number of values.
+     */
+    public abstract void sigmoid(double[] z, int offset, int length);
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+
+    //Loads the SIMD backend by name, so that this class can be loaded without the vector API module.
+    private static VectorOps loadSimd() {
+        if (!ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            return null;
+        }
+
+        try {
+            return (VectorOps) Class.forName("SimdOps").getDeclaredConstructor().newInstance();
+        }
+        catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,52 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ActivationFunctionsTest {
+
+    @Test
+    void fastSigmoidIsWithinTheErrorBoundOverTheFullRange() {
+        //Steps that are not a multiple of the table spacing, so points fall between table entries
+        double step = 1.0 / 4099;
+        double worst = 0.0;
+        for (double z = -40; z <= 40; z += step) {
+            worst = Math.max(worst, Math.abs(ActivationFunctions.fastSigmoid(z) - ActivationFunctions.sigmoid(z)));
+        }
+
+        assertTrue(worst <= ActivationFunctions.FAST_SIGMOID_MAX_ERROR, "Largest error was " + worst);
+    }
+
+    @Test
+    void fastSigmoidIsWithinTheErrorBoundAtTheEdgesOfTheTable() {
+        double[] edges = {-16, Math.nextUp(-16.0), Math.nextDown(-16.0), 16, Math.nextDown(16.0), Math.nextUp(16.0), 0, -0.0,
+                Double.MAX_VALUE, -Double.MAX_VALUE, Double.MIN_VALUE};
+        for (double z : edges) {
+            double error = Math.abs(ActivationFunctions.fastSigmoid(z) - ActivationFunctions.sigmoid(z));
+            assertTrue(error <= ActivationFunctions.FAST_SIGMOID_MAX_ERROR, "Error at " + z + " was " + error);
+        }
+    }
+
+    @Test
+    void fastSigmoidHandlesInfinitiesAndNaN() {
+        assertEquals(1.0, ActivationFunctions.fastSigmoid(Double.POSITIVE_INFINITY));
+        assertEquals(0.0, ActivationFunctions.fastSigmoid(Double.NEGATIVE_INFINITY));
+        assertTrue(Double.isNaN(ActivationFunctions.fastSigmoid(Double.NaN)));
+    }
+
+    @Test
+    void fastSigmoidOfAnArrayMatchesTheScalarVersion() {
+        double[] z = {-50, -3.3, 0, 0.7, 12, 50};
+        double[] expected = new double[z.length];
+        for (int i = 0; i < z.length; i++) {
+            expected[i] = ActivationFunctions.fastSigmoid(z[i]);
+        }
+
+        ActivationFunctions.fastSigmoid(z, 0, z.length);
+
+        for (int i = 0; i < z.length; i++) {
+            assertEquals(expected[i], z[i]);
+        }
+    }
+
+}
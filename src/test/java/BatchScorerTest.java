@@ -0,0 +1,59 @@
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchScorerTest {
+
+    private static final BasisFunction[] FNCS = {BasisFunctions.ONE, BasisFunctions.IDENTITY};
+
+    private static LogRegClassifier model() {
+        LogRegClassifier model = new LogRegClassifier(0.1, FNCS);
+        model.restore(new double[]{0.5, 1.0, -2.0});
+        return model;
+    }
+
+    @Test
+    void closeScoresTheQueuedRequests() {
+        LogRegClassifier model = model();
+        BatchScorer scorer = new BatchScorer(model, 1000, 10_000_000);
+        double[][] samples = new double[50][];
+        @SuppressWarnings("unchecked")
+        CompletableFuture<Double>[] futures = new CompletableFuture[samples.length];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = new double[]{i, 0.5 * i};
+            futures[i] = scorer.submit(samples[i]);
+        }
+
+        scorer.close();
+
+        for (int i = 0; i < samples.length; i++) {
+            assertTrue(futures[i].isDone());
+            assertEquals(model.predict(samples[i]), futures[i].join());
+        }
+        assertEquals(samples.length, scorer.getRequests());
+    }
+
+    @Test
+    void submitAfterCloseThrows() {
+        BatchScorer scorer = new BatchScorer(model(), 8, 0);
+        scorer.close();
+
+        assertThrows(IllegalStateException.class, () -> scorer.submit(new double[]{1, 2}));
+    }
+
+    @Test
+    void invalidSampleFailsOnlyItsFuture() {
+        try (BatchScorer scorer = new BatchScorer(model(), 8, 1000)) {
+            CompletableFuture<Double> bad = scorer.submit(new double[]{1, 2, 3});
+            CompletableFuture<Double> good = scorer.submit(new double[]{1, 2});
+
+            assertEquals(model().predict(new double[]{1, 2}), good.join());
+            assertTrue(bad.isCompletedExceptionally());
+        }
+    }
+
+}
@@ -0,0 +1,34 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConfusionAccumulatorTest {
+
+    @Test
+    void roundsValuesToTheNearestClass() {
+        ConfusionAccumulator accumulator = new ConfusionAccumulator(0, 1);
+        accumulator.add(0.2, 0.7);
+        accumulator.add(1.0, 0.4);
+
+        assertEquals(2, accumulator.count());
+    }
+
+    @Test
+    void rejectsValuesThatAreNotFinite() {
+        ConfusionAccumulator accumulator = new ConfusionAccumulator(0, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> accumulator.add(Double.NaN, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> accumulator.add(1.0, Double.POSITIVE_INFINITY));
+        assertEquals(0, accumulator.count());
+    }
+
+    @Test
+    void rejectsValuesOutsideTheRangeOfAClass() {
+        ConfusionAccumulator accumulator = new ConfusionAccumulator(-1, 0, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> accumulator.add(1e20, 0.0));
+        assertEquals(0, accumulator.count());
+    }
+
+}
@@ -0,0 +1,42 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvReaderTest {
+
+    @TempDir
+    Path dir;
+
+    private String write(String contents) throws IOException {
+        Path file = dir.resolve("data.csv");
+        Files.write(file, contents.getBytes());
+        return file.toString();
+    }
+
+    @Test
+    void skipsAHeader() throws IOException {
+        String file = write("id,diagnosis,radius,texture\n1,M,1.5,2\n2,B,0.5,3\n");
+        double[][] data = CsvReader.read(file, "B", "M", 1, true, 1);
+        assertArrayEquals(new double[][]{{1, 1.5, 2}, {0, 0.5, 3}}, data);
+    }
+
+    @Test
+    void readsAFirstLineWithoutAHeader() throws IOException {
+        String file = write("1,M,1.5,2\n2,B,0.5,3\n");
+        double[][] data = CsvReader.read(file, "B", "M", 1, true, 1);
+        assertArrayEquals(new double[][]{{1, 1.5, 2}, {0, 0.5, 3}}, data);
+    }
+
+    @Test
+    void rejectsAMalformedFirstRow() throws IOException {
+        String file = write("1,M,1.5x,2\n2,B,0.5,3\n");
+        assertThrows(IllegalArgumentException.class, () -> CsvReader.read(file, "B", "M", 1, true, 1));
+    }
+
+}
@@ -0,0 +1,33 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DataTest {
+
+    @TempDir
+    Path dir;
+
+    private String write(String contents) throws IOException {
+        Path file = dir.resolve("data.csv");
+        Files.write(file, contents.getBytes());
+        return file.toString();
+    }
+
+    @Test
+    void rejectsAnEmptyFile() throws IOException {
+        String file = write("");
+        assertThrows(IllegalArgumentException.class, () -> Data.getBCData(file, "B", "M", 1, 70, true, null, null));
+    }
+
+    @Test
+    void rejectsAFileWithOnlyAHeader() throws IOException {
+        String file = write("id,diagnosis,radius,texture\n");
+        assertThrows(IllegalArgumentException.class, () -> Data.getBCData(file, "B", "M", 1, 70, true, null, null));
+    }
+
+}
@@ -0,0 +1,25 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DatasetTest {
+
+    @Test
+    void fromRowsRemovesTheLabelWithoutChangingTheRows() {
+        double[][] data = {
+                new double[]{1, 0, 2},
+                new double[]{3, 1, 4}
+        };
+        double[][] copy = {data[0].clone(), data[1].clone()};
+
+        Dataset dataset = Dataset.fromRows(data, 1);
+
+        assertArrayEquals(new double[]{1, 2}, dataset.getFeatures(0));
+        assertArrayEquals(new double[]{3, 4}, dataset.getFeatures(1));
+        assertEquals(0, dataset.getLabel(0));
+        assertEquals(1, dataset.getLabel(1));
+        assertArrayEquals(copy, data);
+    }
+
+}
@@ -0,0 +1,55 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class FrequencySketchTest {
+
+    @Test
+    void countsSaturateAtFifteen() {
+        FrequencySketch sketch = new FrequencySketch(1000);
+        for (int i = 0; i < 20; i++) {
+            sketch.increment(12345);
+        }
+
+        assertEquals(15, sketch.frequency(12345));
+    }
+
+    @Test
+    void neighbouringCountersDoNotDisturbEachOther() {
+        FrequencySketch sketch = new FrequencySketch(1000);
+        for (int key = 0; key < 200; key++) {
+            for (int i = 0; i < key % 7; i++) {
+                sketch.increment(key * 0x9E3779B1);
+            }
+        }
+
+        //A count-min sketch can only overestimate
+        for (int key = 0; key < 200; key++) {
+            assertTrue(sketch.frequency(key * 0x9E3779B1) >= key % 7);
+        }
+    }
+
+    @Test
+    void agingHalvesTheCounts() {
+        FrequencySketch sketch = new FrequencySketch(16);
+        for (int i = 0; i < 12; i++) {
+            sketch.increment(42);
+        }
+
+        //Other keys push the count up through collisions until the sketch ages, which must halve it
+        for (int key = 1; key < 10000; key++) {
+            int before = sketch.frequency(42);
+            sketch.increment(key * 0x85EBCA6B);
+            int after = sketch.frequency(42);
+            if (after < before) {
+                assertTrue(after <= before / 2);
+                return;
+            }
+        }
+
+        fail("The sketch never aged!");
+    }
+
+}
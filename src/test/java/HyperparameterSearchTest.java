@@ -0,0 +1,64 @@
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HyperparameterSearchTest {
+
+    private static final BasisFunction[] FNCS = {BasisFunctions.ONE, BasisFunctions.IDENTITY};
+
+    private static Dataset data() {
+        Random random = new Random(5);
+        double[][] X = new double[60][2];
+        double[] y = new double[60];
+        for (int i = 0; i < X.length; i++) {
+            X[i][0] = 10 + 5 * random.nextGaussian();
+            X[i][1] = random.nextGaussian();
+            y[i] = X[i][0] + 5 * X[i][1] + 2 * random.nextGaussian() > 10 ? 1 : 0;
+        }
+
+        return new Dataset(X, y);
+    }
+
+    private static List<SearchResult> search(Dataset data, int parallelism) {
+        HyperparameterSearch search = new HyperparameterSearch(data, 4, 9, true, parallelism);
+        search.setPreprocessing(() -> new Scaler(Scaler.Type.STANDARD));
+        for (double rate : new double[]{0.001, 0.01, 0.1, 1.0}) {
+            search.addCandidate("rate=" + rate, () -> new LogRegClassifier(rate, FNCS, new SGDSolver(8, 3, true, LearningRateSchedule.constant(), 1)));
+        }
+
+        return search.run();
+    }
+
+    @Test
+    void rankingDoesNotDependOnTheParallelism() {
+        Dataset data = data();
+        List<SearchResult> serial = search(data, 1);
+        List<SearchResult> parallel = search(data, 4);
+
+        assertEquals(serial.size(), parallel.size());
+        for (int r = 0; r < serial.size(); r++) {
+            assertEquals(serial.get(r).getName(), parallel.get(r).getName());
+            assertArrayEquals(serial.get(r).getFoldAccuracy(), parallel.get(r).getFoldAccuracy());
+            assertArrayEquals(serial.get(r).getFoldAUC(), parallel.get(r).getFoldAUC());
+        }
+    }
+
+    @Test
+    void preprocessingLeavesTheDataAsItWas() {
+        Dataset data = data();
+        double[][] before = data.rows();
+        double[][] copy = new double[before.length][];
+        for (int i = 0; i < before.length; i++) {
+            copy[i] = before[i].clone();
+        }
+
+        search(data, 2);
+
+        assertArrayEquals(copy, data.rows());
+    }
+
+}
@@ -0,0 +1,54 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LBFGSSolverTest {
+
+    @Test
+    void rejectedUpdateLeavesAFullHistoryUntouched() {
+        LBFGSSolver.History history = new LBFGSSolver.History(2, 2);
+        assertTrue(history.add(new double[]{1, 0}, new double[]{2, 0}));
+        assertTrue(history.add(new double[]{0, 1}, new double[]{0, 4}));
+        assertEquals(2, history.size());
+
+        double[] grad = {1, 1};
+        double[] before = new double[2];
+        history.direction(grad, before);
+
+        //Negative curvature, which must be rejected without overwriting the oldest pair
+        assertFalse(history.add(new double[]{1, 1}, new double[]{-1, -1}));
+        assertEquals(2, history.size());
+
+        double[] after = new double[2];
+        history.direction(grad, after);
+        assertArrayEquals(before, after);
+    }
+
+    @Test
+    void historyWithExactCurvatureInvertsADiagonalHessian() {
+        //For f(w) = w0^2 + 2 w1^2 the Hessian is diag(2, 4), so the direction is the Newton step
+        LBFGSSolver.History history = new LBFGSSolver.History(2, 2);
+        history.add(new double[]{1, 0}, new double[]{2, 0});
+        history.add(new double[]{0, 1}, new double[]{0, 4});
+
+        double[] dir = new double[2];
+        history.direction(new double[]{2, 4}, dir);
+
+        assertArrayEquals(new double[]{-1, -1}, dir, 1e-12);
+    }
+
+    @Test
+    void minimizeReachesTheMinimumOfAQuadratic() {
+        double[] w = new LBFGSSolver(100, 3, 1e-10).minimize((x, grad) -> {
+            grad[0] = 2 * (x[0] - 3);
+            grad[1] = 8 * (x[1] + 1);
+            return (x[0] - 3) * (x[0] - 3) + 4 * (x[1] + 1) * (x[1] + 1);
+        }, new double[2], TrainingMonitor.NONE);
+
+        assertArrayEquals(new double[]{3, -1}, w, 1e-8);
+    }
+
+}
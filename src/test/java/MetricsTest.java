@@ -0,0 +1,84 @@
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetricsTest {
+
+    //The Mann-Whitney statistic: the fraction of (class 1, class 0) pairs ordered correctly, ties counting half.
+    private static double pairwiseAUC(double[] y, double[] scores) {
+        double correct = 0;
+        long pairs = 0;
+        for (int i = 0; i < y.length; i++) {
+            for (int j = 0; j < y.length; j++) {
+                if (y[i] == 1 && y[j] == 0) {
+                    pairs++;
+                    if (scores[i] > scores[j]) {
+                        correct += 1;
+                    }
+                    else if (scores[i] == scores[j]) {
+                        correct += 0.5;
+                    }
+                }
+            }
+        }
+
+        return pairs == 0 ? Double.NaN : correct / pairs;
+    }
+
+    @Test
+    void exactAUCMatchesThePairwiseCount() {
+        Random random = new Random(3);
+        for (int trial = 0; trial < 50; trial++) {
+            int n = 1 + random.nextInt(40);
+            double[] y = new double[n];
+            double[] scores = new double[n];
+            for (int i = 0; i < n; i++) {
+                y[i] = random.nextInt(2);
+                //Few distinct values, so many scores are tied
+                scores[i] = random.nextInt(5) / 4.0;
+            }
+
+            assertEquals(pairwiseAUC(y, scores), Metrics.getExactAUC(y, scores), 1e-12);
+        }
+    }
+
+    @Test
+    void exactAUCHandlesTiesAndSingleClasses() {
+        assertEquals(0.5, Metrics.getExactAUC(new double[]{1, 0, 1, 0}, new double[]{0.3, 0.3, 0.3, 0.3}), 1e-12);
+        assertEquals(0.875, Metrics.getExactAUC(new double[]{1, 0, 1, 0}, new double[]{0.9, 0.5, 0.5, 0.1}), 1e-12);
+        assertTrue(Double.isNaN(Metrics.getExactAUC(new double[]{1, 1, 1}, new double[]{0.2, 0.5, 0.9})));
+        assertTrue(Double.isNaN(Metrics.getExactAUC(new double[]{0, 0}, new double[]{0.2, 0.5})));
+    }
+
+    @Test
+    void rocCurveIsInIncreasingThresholdOrder() {
+        double[] y = {1, 0, 1, 0, 1, 0};
+        double[] scores = {0.9, 0.8, 0.6, 0.6, 0.3, 0.1};
+        Matrix roc = Metrics.getROCCurve(new Matrix(y), new Matrix(scores));
+        int n = roc.getRows();
+
+        //The lowest threshold accepts every sample and the highest accepts none
+        assertEquals(1.0, roc.getValue(1, 1));
+        assertEquals(1.0, roc.getValue(1, 2));
+        assertEquals(0.0, roc.getValue(n, 1));
+        assertEquals(0.0, roc.getValue(n, 2));
+        for (int i = 1; i < n; i++) {
+            assertTrue(roc.getValue(i, 1) >= roc.getValue(i + 1, 1));
+            assertTrue(roc.getValue(i, 2) >= roc.getValue(i + 1, 2));
+        }
+
+        //The tie between a class 1 and a class 0 sample is one diagonal step
+        assertEquals(6, n);
+
+        //Integrating the curve in this order, as getAUC does, gives the exact AUC
+        double area = 0.0;
+        for (int i = 1; i < n; i++) {
+            area += (roc.getValue(i, 1) - roc.getValue(i + 1, 1)) * (roc.getValue(i, 2) + roc.getValue(i + 1, 2)) / 2.0;
+        }
+        assertEquals(pairwiseAUC(y, scores), area, 1e-12);
+    }
+
+}
@@ -0,0 +1,101 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ModelFileTest {
+
+    //The magic number, format version, model type, learning rate, number of outputs and scoring options come before
+    //the basis count
+    private static final int OPTIONS = 4 + 4 + 4 + "LogRegClassifier".length() + 8 + 4;
+    private static final int BASIS_COUNT = OPTIONS + 1;
+
+    @TempDir
+    Path dir;
+
+    private byte[] saved() throws IOException {
+        return saved(false);
+    }
+
+    private byte[] saved(boolean fastSigmoid) throws IOException {
+        LogRegClassifier model = new LogRegClassifier(0.1, new BasisFunction[]{BasisFunctions.ONE, BasisFunctions.IDENTITY});
+        model.setFastSigmoid(fastSigmoid);
+        model.restore(new double[]{0.5, 1.0, -2.0});
+        Path file = dir.resolve("model.bin");
+        ModelFile.write(file.toString(), model, new Transformer[0], Collections.emptyMap());
+        return Files.readAllBytes(file);
+    }
+
+    private String write(byte[] bytes) throws IOException {
+        Path file = dir.resolve("corrupt.bin");
+        Files.write(file, bytes);
+        return file.toString();
+    }
+
+    @Test
+    void loadsWhatWasWritten() throws IOException {
+        ModelFile file = ModelFile.load(write(saved()));
+        assertArrayEquals(new double[]{0.5, 1.0, -2.0}, file.getModel().getWeights().getCol(1));
+    }
+
+    @Test
+    void keepsTheFastSigmoid() throws IOException {
+        assertTrue(((LogRegClassifier) ModelFile.load(write(saved(true))).getModel()).isFastSigmoid());
+        assertFalse(((LogRegClassifier) ModelFile.load(write(saved(false))).getModel()).isFastSigmoid());
+    }
+
+    @Test
+    void loadsAVersionTwoFileWithoutScoringOptions() throws IOException {
+        byte[] bytes = saved(true);
+        byte[] old = new byte[bytes.length - 1];
+        System.arraycopy(bytes, 0, old, 0, OPTIONS);
+        System.arraycopy(bytes, OPTIONS + 1, old, OPTIONS, bytes.length - OPTIONS - 1);
+        ByteBuffer.wrap(old).putInt(4, 2);
+
+        ModelFile file = ModelFile.load(write(old));
+        assertArrayEquals(new double[]{0.5, 1.0, -2.0}, file.getModel().getWeights().getCol(1));
+        assertFalse(((LogRegClassifier) file.getModel()).isFastSigmoid());
+    }
+
+    @Test
+    void rejectsAFormatVersionBelowOne() throws IOException {
+        byte[] bytes = saved();
+        ByteBuffer.wrap(bytes).putInt(4, 0);
+        String file = write(bytes);
+        assertThrows(IllegalArgumentException.class, () -> ModelFile.load(file));
+    }
+
+    @Test
+    void rejectsANegativeCount() throws IOException {
+        byte[] bytes = saved();
+        ByteBuffer.wrap(bytes).putInt(BASIS_COUNT, -1);
+        String file = write(bytes);
+        assertThrows(IllegalArgumentException.class, () -> ModelFile.load(file));
+    }
+
+    @Test
+    void rejectsACountLargerThanTheFile() throws IOException {
+        byte[] bytes = saved();
+        ByteBuffer.wrap(bytes).putInt(BASIS_COUNT, Integer.MAX_VALUE);
+        String file = write(bytes);
+        assertThrows(IllegalArgumentException.class, () -> ModelFile.load(file));
+    }
+
+    @Test
+    void rejectsATruncatedFile() throws IOException {
+        byte[] bytes = saved();
+        String file = write(Arrays.copyOf(bytes, bytes.length - 3));
+        assertThrows(IllegalArgumentException.class, () -> ModelFile.load(file));
+    }
+
+}
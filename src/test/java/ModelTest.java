@@ -0,0 +1,140 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ModelTest {
+
+    //A model that only relies on Model's default scorer.
+    private static class LinearModel extends Model {
+
+        private LinearModel(BasisFunction[] basisFunctions) {
+            super(0.1, basisFunctions);
+        }
+
+        @Override
+        protected Matrix predictProtected(Matrix x) {
+            return buildFunction(x);
+        }
+
+        @Override
+        protected double predictSample(double[] x, double[] w, BasisFunction[] fncs) {
+            return BasisExpansion.evaluate(x, w, fncs);
+        }
+
+        @Override
+        protected void trainProtected(Matrix x, Matrix y, Matrix w0) {
+            weights = w0;
+        }
+
+        @Override
+        protected Matrix generateW0(int n) {
+            return new Matrix(new double[n]);
+        }
+    }
+
+    private static LogRegClassifier model() {
+        LogRegClassifier model = new LogRegClassifier(0.1, new BasisFunction[]{BasisFunctions.ONE, BasisFunctions.IDENTITY});
+        model.restore(new double[]{0.5, 1.0, -2.0});
+        return model;
+    }
+
+    @Test
+    void predictMultipleSamplesMatchesPredict() {
+        LogRegClassifier model = model();
+        double[][] samples = {{1, 2}, {0, 0}, {-1, 3}};
+        double[] out = new double[samples.length];
+
+        model.predictMultipleSamples(samples, out);
+
+        for (int i = 0; i < samples.length; i++) {
+            assertEquals(model.predict(samples[i]), out[i]);
+        }
+    }
+
+    @Test
+    void predictMultipleSamplesRejectsAShorterLaterRow() {
+        double[][] samples = {{1, 2}, {0}};
+        assertThrows(IllegalArgumentException.class, () -> model().predictMultipleSamples(samples, new double[2]));
+    }
+
+    @Test
+    void predictMultipleSamplesRejectsALongerLaterRow() {
+        double[][] samples = {{1, 2}, {0, 1, 2}};
+        assertThrows(IllegalArgumentException.class, () -> model().predictMultipleSamples(samples, new double[2]));
+    }
+
+    @Test
+    void versionIsEvenBetweenChanges() {
+        LogRegClassifier model = model();
+        long version = model.getVersion();
+        assertEquals(0, version & 1);
+
+        model.setFastSigmoid(true);
+        assertEquals(0, model.getVersion() & 1);
+        assertNotEquals(version, model.getVersion());
+        assertEquals(model.getVersion(), ModelSnapshot.of(model).getVersion());
+    }
+
+    @Test
+    void failedTrainingLeavesTheVersionEvenAndTheOldWeights() {
+        LogRegClassifier model = new LogRegClassifier(0.1, new BasisFunction[]{BasisFunctions.ONE, BasisFunctions.IDENTITY}, new SGDSolver(1, 5));
+        model.restore(new double[]{0.5, 1.0, -2.0});
+        double before = model.predict(new double[]{1, 2});
+        model.addTrainingListener(event -> {
+            throw new IllegalStateException("Stop!");
+        });
+
+        Dataset data = new Dataset(new double[][]{{0, 1}, {1, 0}}, new double[]{0, 1});
+        assertThrows(IllegalStateException.class, () -> model.train(data));
+
+        assertEquals(0, model.getVersion() & 1);
+        assertEquals(before, model.predict(new double[]{1, 2}));
+        assertEquals(model.getVersion(), ModelSnapshot.of(model).getVersion());
+    }
+
+    @Test
+    void defaultScorerKeepsItsOwnBasisFunctions() {
+        LinearModel model = new LinearModel(new BasisFunction[]{BasisFunctions.ONE, BasisFunctions.IDENTITY});
+        model.restore(new double[]{0.5, 1.0, -2.0});
+        Scorer scorer = model.compile();
+        double before = scorer.score(new double[]{3, 2});
+
+        //Same number of basis functions, so the weights still fit, but different predictions
+        model.setBasisFunctions(new BasisFunction[]{BasisFunctions.ONE, BasisFunctions.SQUARE});
+        assertEquals(before, scorer.score(new double[]{3, 2}));
+    }
+
+    @Test
+    void partialFitAfterNewBasisFunctionsStartsOver() {
+        LinearModel model = new LinearModel(new BasisFunction[]{BasisFunctions.ONE, BasisFunctions.IDENTITY});
+        model.restore(new double[]{0.5, 1.0, -2.0});
+
+        //Same number of basis functions, so the old weights would still fit
+        model.setBasisFunctions(new BasisFunction[]{BasisFunctions.ONE, BasisFunctions.SQUARE});
+        model.partialFit(new Matrix(new double[][]{{1, 2}, {3, 4}}), new Matrix(new double[]{0, 1}));
+
+        assertArrayEquals(new double[3], model.getWeights().getCol(1));
+    }
+
+    @Test
+    void matrixOverloadsMatchPredictAndValidateRows() {
+        LogRegClassifier model = model();
+        model.setParallelism(2);
+        double[][] samples = {{1, 2}, {0, 0}, {-1, 3}};
+
+        double[] fromArray = model.predictMultipleSamples(samples).getCol(1);
+        double[] fromMatrix = model.predictMultipleSamples(new Matrix(samples)).getCol(1);
+        for (int i = 0; i < samples.length; i++) {
+            assertEquals(model.predict(samples[i]), fromArray[i]);
+            assertEquals(model.predict(samples[i]), fromMatrix[i]);
+        }
+
+        double[][] wide = {{1, 2, 3}};
+        assertThrows(IllegalArgumentException.class, () -> model.predictMultipleSamples(wide));
+        assertThrows(IllegalArgumentException.class, () -> model.predictMultipleSamples(new Matrix(wide)));
+    }
+
+}
@@ -0,0 +1,77 @@
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelGradientSolverTest {
+
+    private static final double[][] X = {
+            {0, 1.5, 0, 0},
+            {2, 0, 0, -1},
+            {0, 0, 0, 0},
+            {0, -0.5, 3, 0},
+            {1, 0, 0, 0},
+            {0, 0, -2, 0.5},
+            {0, 2, 0, 0},
+            {-1, 0, 1, 0}
+    };
+    private static final double[] Y = {1, 0, 1, 1, 0, 0, 1, 0};
+
+    //The sparse solver must follow the same path as the dense one, only skipping the zero features.
+    private static void assertSparseMatchesDense(ParallelGradientSolver solver, BasisFunction[] fncs) {
+        int numWeights = BasisExpansion.numWeights(X[0].length, fncs.length);
+        double[] dense = solver.solve(X, Y, new double[numWeights], fncs, 0.1, TrainingMonitor.NONE);
+        double[] sparse = solver.solve(SparseMatrix.fromDense(X), Y, new double[numWeights], fncs, 0.1, TrainingMonitor.NONE);
+        assertArrayEquals(dense, sparse, 1e-12);
+    }
+
+    @Test
+    void sparseSynchronousMatchesDense() {
+        ParallelGradientSolver solver = new ParallelGradientSolver(3, 20, ParallelGradientSolver.Mode.SYNCHRONOUS, 0);
+        assertSparseMatchesDense(solver, new BasisFunction[]{BasisFunctions.ONE, BasisFunctions.IDENTITY, BasisFunctions.SQUARE});
+        assertSparseMatchesDense(solver, new BasisFunction[]{BasisFunctions.ONE, BasisFunctions.IDENTITY, BasisFunctions.COS});
+    }
+
+    @Test
+    void sparseHogwildMatchesDenseOnOneThread() {
+        ParallelGradientSolver solver = new ParallelGradientSolver(1, 20, ParallelGradientSolver.Mode.HOGWILD, 7);
+        assertSparseMatchesDense(solver, new BasisFunction[]{BasisFunctions.ONE, BasisFunctions.IDENTITY, BasisFunctions.SQUARE});
+    }
+
+    //With a basis function that is non-zero at 0, sparse Hogwild applies the zero features' updates once per pass,
+    //so it only fits as well as the dense solver instead of matching it step for step.
+    @Test
+    void sparseHogwildFitsAsWellWithNonZeroBasisAtZero() {
+        ParallelGradientSolver solver = new ParallelGradientSolver(1, 200, ParallelGradientSolver.Mode.HOGWILD, 7);
+        BasisFunction[] fncs = {BasisFunctions.ONE, BasisFunctions.IDENTITY, BasisFunctions.COS};
+        int numWeights = BasisExpansion.numWeights(X[0].length, fncs.length);
+        double[] dense = solver.solve(X, Y, new double[numWeights], fncs, 0.05, TrainingMonitor.NONE);
+        double[] sparse = solver.solve(SparseMatrix.fromDense(X), Y, new double[numWeights], fncs, 0.05, TrainingMonitor.NONE);
+
+        double denseLoss = LogisticLoss.evaluate(X, Y, dense, fncs, new double[numWeights]);
+        double sparseLoss = LogisticLoss.evaluate(X, Y, sparse, fncs, new double[numWeights]);
+        assertTrue(sparseLoss < Math.log(2));
+        assertEquals(denseLoss, sparseLoss, 0.05);
+    }
+
+    @Test
+    void sharedPoolIsNotShutDown() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            ParallelGradientSolver solver = new ParallelGradientSolver(pool, 5, ParallelGradientSolver.Mode.HOGWILD, 3);
+            BasisFunction[] fncs = {BasisFunctions.ONE, BasisFunctions.IDENTITY};
+            solver.solve(X, Y, new double[BasisExpansion.numWeights(X[0].length, fncs.length)], fncs, 0.1, TrainingMonitor.NONE);
+
+            assertEquals(2, solver.getParallelism());
+            assertFalse(pool.isShutdown());
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,54 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PredictionCacheTest {
+
+    private static final BasisFunction[] FNCS = {BasisFunctions.ONE, BasisFunctions.IDENTITY};
+
+    private static LogRegClassifier model() {
+        LogRegClassifier model = new LogRegClassifier(0.1, FNCS);
+        model.restore(new double[]{0.5, 1.0, -2.0});
+        return model;
+    }
+
+    @Test
+    void repeatedSamplesAreHits() {
+        PredictionCache cache = new PredictionCache(model(), 10);
+        double first = cache.predict(new double[]{1, 2});
+        double second = cache.predict(new double[]{1, 2});
+
+        assertEquals(first, second);
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void changingTheModelInvalidatesTheCache() {
+        LogRegClassifier model = model();
+        PredictionCache cache = new PredictionCache(model, 10);
+        double[] sample = {1, 2};
+        cache.predict(sample);
+        cache.predict(sample);
+
+        model.restore(new double[]{-1.0, 0.5, 3.0});
+        double after = cache.predict(sample);
+
+        assertEquals(model.predict(sample), after);
+        assertEquals(1, cache.getInvalidations());
+        assertEquals(2, cache.getMisses());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void fullCacheStaysWithinItsSize() {
+        PredictionCache cache = new PredictionCache(model(), 4);
+        for (int i = 0; i < 100; i++) {
+            cache.predict(new double[]{i, -i});
+        }
+
+        assertEquals(4, cache.size());
+    }
+
+}
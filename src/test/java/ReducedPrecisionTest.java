@@ -0,0 +1,74 @@
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReducedPrecisionTest {
+
+    private static final BasisFunction[] FNCS = {BasisFunctions.ONE, BasisFunctions.IDENTITY, BasisFunctions.SQUARE};
+    private static final int FEATURES = 8;
+
+    private static double[][] X;
+    private static double[] y;
+    private static LogRegClassifier model;
+
+    static {
+        Random random = new Random(6);
+        X = new double[400][FEATURES];
+        y = new double[X.length];
+        for (int i = 0; i < X.length; i++) {
+            for (int j = 0; j < FEATURES; j++) {
+                X[i][j] = random.nextGaussian();
+            }
+            y[i] = X[i][0] - X[i][1] + 0.5 * random.nextGaussian() > 0 ? 1 : 0;
+        }
+
+        double[] w = new double[BasisExpansion.numWeights(FEATURES, FNCS.length)];
+        w[1] = 2;
+        w[3] = -2;
+        model = new LogRegClassifier(0.1, FNCS);
+        model.restore(w);
+    }
+
+    @Test
+    void float32StaysCloseToTheReference() {
+        DriftReport report = new DriftReport(model.compile(), model.compileFloat32(), X, y);
+
+        assertTrue(report.getMaxDifference() < 1e-5);
+        assertEquals(0.0, report.getAUCDrift(), 1e-3);
+    }
+
+    @Test
+    void int8StaysCloseToTheReference() {
+        DriftReport report = new DriftReport(model.compile(), model.compileInt8(X), X, y);
+
+        assertTrue(report.getMaxDifference() < 0.05);
+        assertTrue(report.getMeanDifference() < 0.01);
+        assertEquals(0.0, report.getAUCDrift(), 0.01);
+    }
+
+    @Test
+    void int8DecodesWithinHalfAStep() {
+        Int8Scorer scorer = model.compileInt8(X);
+        double[] min = new double[FEATURES];
+        double[] max = new double[FEATURES];
+        for (int j = 0; j < FEATURES; j++) {
+            min[j] = Double.POSITIVE_INFINITY;
+            max[j] = Double.NEGATIVE_INFINITY;
+            for (double[] row : X) {
+                min[j] = Math.min(min[j], row[j]);
+                max[j] = Math.max(max[j], row[j]);
+            }
+        }
+
+        for (double[] row : X) {
+            double[] decoded = scorer.decode(scorer.encode(row));
+            for (int j = 0; j < FEATURES; j++) {
+                assertEquals(row[j], decoded[j], (max[j] - min[j]) / 255 / 2 + 1e-12);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,19 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class SGDSolverTest {
+
+    private static final double[][] X = {{0, 1}, {1, 0}, {1, 1}, {-1, 2}, {2, -1}, {0, 0}};
+    private static final double[] Y = {1, 0, 1, 1, 0, 0};
+    private static final BasisFunction[] FNCS = {BasisFunctions.ONE, BasisFunctions.IDENTITY};
+
+    @Test
+    void everyCallShufflesTheSameWay() {
+        SGDSolver solver = new SGDSolver(2, 3, true, LearningRateSchedule.constant(), 11);
+        double[] first = solver.solve(X, Y, new double[3], FNCS, 0.1);
+        double[] second = solver.solve(X, Y, new double[3], FNCS, 0.1);
+        assertArrayEquals(first, second);
+    }
+
+}
@@ -0,0 +1,73 @@
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ScorerTest {
+
+    private static final BasisFunction[] FNCS = {BasisFunctions.ONE, BasisFunctions.IDENTITY, BasisFunctions.SQUARE};
+
+    private static double[][] samples(int n, int features) {
+        Random random = new Random(4);
+        double[][] X = new double[n][features];
+        for (double[] row : X) {
+            for (int j = 0; j < features; j++) {
+                row[j] = random.nextGaussian();
+            }
+        }
+
+        return X;
+    }
+
+    private static double[] weights(int n) {
+        double[] w = new double[n];
+        for (int j = 0; j < n; j++) {
+            w[j] = Math.cos(j) / 3;
+        }
+
+        return w;
+    }
+
+    //The compiled scorer must give what predict gives, one sample at a time and in batches. It adds the terms of the
+    //expansion in a different order, so the values may differ in the last bits.
+    private static void assertMatchesPredict(Model model, double[][] X, double delta) {
+        Scorer scorer = model.compile();
+        double[] batch = new double[X.length];
+        scorer.score(X, batch);
+
+        for (int i = 0; i < X.length; i++) {
+            assertEquals(model.predict(X[i]), scorer.score(X[i]), delta);
+            assertEquals(model.predict(X[i]), batch[i], delta);
+        }
+    }
+
+    @Test
+    void logisticScorerMatchesPredict() {
+        double[][] X = samples(50, 7);
+        LogRegClassifier model = new LogRegClassifier(0.1, FNCS);
+        model.restore(weights(BasisExpansion.numWeights(7, FNCS.length)));
+        assertMatchesPredict(model, X, 1e-12);
+
+        model.setFastSigmoid(true);
+        assertMatchesPredict(model, X, 1e-12);
+    }
+
+    @Test
+    void softmaxScorerMatchesPredict() {
+        double[][] X = samples(50, 5);
+        SoftmaxClassifier model = new SoftmaxClassifier(FNCS, 4);
+        model.restore(weights(BasisExpansion.numWeights(5, FNCS.length) * 4));
+        assertMatchesPredict(model, X, 0);
+    }
+
+    @Test
+    void scorerRejectsTheWrongNumberOfFeatures() {
+        LogRegClassifier model = new LogRegClassifier(0.1, FNCS);
+        model.restore(weights(BasisExpansion.numWeights(3, FNCS.length)));
+        Scorer scorer = model.compile();
+        assertThrows(IllegalArgumentException.class, () -> scorer.score(new double[4]));
+    }
+
+}
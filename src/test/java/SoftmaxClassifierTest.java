@@ -0,0 +1,19 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SoftmaxClassifierTest {
+
+    private static final BasisFunction[] FNCS = {BasisFunctions.ONE, BasisFunctions.IDENTITY};
+
+    @Test
+    void rejectsValidationLabelsThatAreNotClasses() {
+        SoftmaxClassifier model = new SoftmaxClassifier(FNCS, 3);
+        Dataset validation = new Dataset(new double[][]{new double[]{0.5}, new double[]{1.5}}, new double[]{1, 3});
+        model.setEarlyStopping(new EarlyStopping(0, 0, validation, EarlyStopping.Metric.LOG_LOSS, 5, false));
+
+        Dataset train = new Dataset(new double[][]{new double[]{0}, new double[]{1}, new double[]{2}}, new double[]{0, 1, 2});
+        assertThrows(IllegalArgumentException.class, () -> model.train(train));
+    }
+
+}
@@ -0,0 +1,46 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SoftmaxLossTest {
+
+    @Test
+    void gradientMatchesFiniteDifferences() {
+        double[][] X = {{0.5, -1}, {1, 2}, {-1.5, 0.3}, {2, -0.5}, {0, 0}};
+        double[] y = {0, 1, 2, 1, 0};
+        BasisFunction[] fncs = {BasisFunctions.ONE, BasisFunctions.IDENTITY, BasisFunctions.SQUARE};
+        int k = 3;
+        int n = BasisExpansion.numWeights(X[0].length, fncs.length) * k;
+
+        double[] w = new double[n];
+        for (int j = 0; j < n; j++) {
+            w[j] = Math.sin(j + 1) / 2;
+        }
+        double[] grad = new double[n];
+        SoftmaxLoss.evaluate(X, y, w, fncs, k, grad);
+
+        double h = 1e-6;
+        double[] scratch = new double[n];
+        for (int j = 0; j < n; j++) {
+            double original = w[j];
+            w[j] = original + h;
+            double up = SoftmaxLoss.evaluate(X, y, w, fncs, k, scratch);
+            w[j] = original - h;
+            double down = SoftmaxLoss.evaluate(X, y, w, fncs, k, scratch);
+            w[j] = original;
+
+            assertEquals((up - down) / (2 * h), grad[j], 1e-6);
+        }
+    }
+
+    @Test
+    void uniformWeightsGiveLogK() {
+        double[][] X = {{1, 2}, {3, 4}};
+        double[] y = {0, 3};
+        BasisFunction[] fncs = {BasisFunctions.ONE, BasisFunctions.IDENTITY};
+        int n = BasisExpansion.numWeights(2, fncs.length) * 4;
+
+        assertEquals(Math.log(4), SoftmaxLoss.evaluate(X, y, new double[n], fncs, 4, new double[n]), 1e-12);
+    }
+
+}
@@ -0,0 +1,45 @@
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrainingMonitorTest {
+
+    private static final Dataset VALIDATION = new Dataset(new double[][]{{0}, {1}}, new double[]{0, 1});
+
+    //The validation loss is just the first weight, so the weights that should be kept are easy to control.
+    private static TrainingMonitor monitor(int patience) {
+        EarlyStopping stopping = new EarlyStopping(1e-6, 0, VALIDATION, EarlyStopping.Metric.LOG_LOSS, patience, true);
+        return new TrainingMonitor("test", Collections.emptyList(), stopping, w -> w[0]);
+    }
+
+    @Test
+    void convergedIterationIsStillRecordedAsBest() {
+        TrainingMonitor monitor = monitor(3);
+        double[] w = {5.0};
+        monitor.begin(w);
+        assertTrue(monitor.iteration(1, 1.0, 1.0, new double[]{5.0}));
+        //The training loss has stopped changing, but these are also the best weights on the validation set
+        assertFalse(monitor.iteration(2, 1.0, 1.0, new double[]{2.0}));
+
+        monitor.finish(w);
+        assertArrayEquals(new double[]{2.0}, w);
+    }
+
+    @Test
+    void patienceRunsOutWithoutImprovement() {
+        TrainingMonitor monitor = monitor(2);
+        double[] w = {1.0};
+        monitor.begin(w);
+        assertTrue(monitor.iteration(1, 4.0, 1.0, new double[]{1.0}));
+        assertTrue(monitor.iteration(2, 3.0, 1.0, new double[]{3.0}));
+        assertFalse(monitor.iteration(3, 2.0, 1.0, new double[]{4.0}));
+
+        monitor.finish(w);
+        assertArrayEquals(new double[]{1.0}, w);
+    }
+
+}
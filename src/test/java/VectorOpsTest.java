@@ -0,0 +1,83 @@
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class VectorOpsTest {
+
+    private static final VectorOps SCALAR = VectorOps.scalar();
+    private static final VectorOps SIMD = VectorOps.simd();
+
+    //Lengths around every vector width, so both the vector loop and the scalar tail are covered
+    private static final int MAX_LENGTH = 70;
+
+    private static double[] random(Random random, int length) {
+        double[] v = new double[length];
+        for (int i = 0; i < length; i++) {
+            v[i] = random.nextGaussian() * 10;
+        }
+
+        return v;
+    }
+
+    @Test
+    void simdIsAvailable() {
+        assertNotNull(SIMD);
+    }
+
+    @Test
+    void dotMatchesScalar() {
+        Random random = new Random(1);
+        for (int length = 0; length <= MAX_LENGTH; length++) {
+            double[] a = random(random, length + 3);
+            double[] b = random(random, length + 5);
+            float[] fa = new float[a.length];
+            float[] fb = new float[b.length];
+            for (int i = 0; i < a.length; i++) {
+                fa[i] = (float) a[i];
+            }
+            for (int i = 0; i < b.length; i++) {
+                fb[i] = (float) b[i];
+            }
+
+            assertEquals(SCALAR.dot(a, 3, b, 5, length), SIMD.dot(a, 3, b, 5, length), 1e-9);
+            assertEquals(SCALAR.dot(fa, 3, fb, 5, length), SIMD.dot(fa, 3, fb, 5, length), 1e-2);
+        }
+    }
+
+    @Test
+    void axpyMatchesScalar() {
+        Random random = new Random(2);
+        for (int length = 0; length <= MAX_LENGTH; length++) {
+            double[] x = random(random, length + 1);
+            double[] y = random(random, length + 2);
+            double[] expected = y.clone();
+            double[] actual = y.clone();
+
+            SCALAR.axpy(-0.75, x, 1, expected, 2, length);
+            SIMD.axpy(-0.75, x, 1, actual, 2, length);
+            for (int i = 0; i < y.length; i++) {
+                assertEquals(expected[i], actual[i], 1e-12);
+            }
+        }
+    }
+
+    @Test
+    void sigmoidMatchesScalar() {
+        Random random = new Random(3);
+        for (int length = 0; length <= MAX_LENGTH; length++) {
+            double[] z = random(random, length + 4);
+            double[] expected = z.clone();
+            double[] actual = z.clone();
+
+            SCALAR.sigmoid(expected, 4, length);
+            SIMD.sigmoid(actual, 4, length);
+            for (int i = 0; i < z.length; i++) {
+                assertEquals(expected[i], actual[i], 1e-12);
+            }
+        }
+    }
+
+}